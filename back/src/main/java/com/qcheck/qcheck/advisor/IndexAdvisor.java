@@ -0,0 +1,327 @@
+package com.qcheck.qcheck.advisor;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 인덱스/실행 계획 분석기
+ *
+ * database_setup.sql 의 인덱스 생성은 "100만 건 미만이라 의미 미미" 라는 가정으로 보류되었음
+ * 이 클래스는 그 판단을 실제 데이터로 내리기 위한 근거를 수집함
+ *
+ * 수집/분석 항목:
+ * 1. 가장 느린 쿼리 형태에 대해 EXPLAIN (ANALYZE, BUFFERS) 실행 (가장 느렸던 실행의 바인드 값 재사용, 롤백)
+ * 2. pg_stat_statements 확장이 있으면 company 관련 상위 쿼리 조회
+ * 3. 인덱스 추천
+ *    - 누락 인덱스: 계획의 Seq Scan 중 필터로 대부분의 행을 버리는 컬럼
+ *      (LIKE '%..%' / UPPER(..) LIKE 는 pg_trgm GIN 인덱스, 그 외는 B-tree)
+ *    - 미사용 인덱스: pg_stat_user_indexes.idx_scan = 0 인 비유니크 인덱스 (제약 조건 인덱스 제외)
+ *      파티션 테이블(V2)은 파티션별 인덱스의 idx_scan 을 부모 인덱스로 합산하여 모든 파티션에서 미사용일 때만
+ *      부모 인덱스 삭제를 추천 (파티션 인덱스는 단독으로 DROP 할 수 없음)
+ *
+ * 예상 이득(estimatedBenefit):
+ * - 누락 인덱스: 호출 수 × 평균 시간 × 필터로 버려진 행 비율 = 절감 가능한 누적 시간(ms)
+ * - 미사용 인덱스: 삭제 시 확보되는 디스크 크기 및 쓰기 시 인덱스 갱신 비용 제거
+ */
+@Slf4j
+@Component
+public class IndexAdvisor {
+
+    /**
+     * 필터로 버려진 행이 이 수 미만이면 인덱스 효과가 미미하다고 판단
+     */
+    private static final long MIN_ROWS_REMOVED = 1_000;
+
+    /**
+     * 필터로 버려진 행 비율이 이 값 미만이면 인덱스 대신 순차 스캔이 유리할 수 있음
+     */
+    private static final double MIN_REMOVED_RATIO = 0.9;
+
+    /**
+     * 이 값 이하의 고유값 수(n_distinct)를 가진 컬럼은 B-tree 인덱스 대상에서 제외 (예: status)
+     */
+    private static final double LOW_CARDINALITY = 10;
+
+    private static final Pattern FILTER_COLUMN = Pattern.compile("\\((\\w+)\\)::|\\((\\w+) [=<>]");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private QueryShapeRecorder recorder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * 쿼리 형태 하나의 EXPLAIN 결과
+     */
+    public record PlanReport(String repositoryMethod, String sql, long calls, double meanMillis,
+                             double maxMillis, JsonNode plan, String error) {
+    }
+
+    /**
+     * 인덱스 추천 하나
+     */
+    public record Recommendation(String type, String table, String column, String ddl,
+                                 String reason, String estimatedBenefit) {
+    }
+
+    /**
+     * 가장 느린(최대 실행 시간 기준) 쿼리 형태 top 개에 대해 EXPLAIN (ANALYZE, BUFFERS) 수행
+     *
+     * SELECT 문만 대상이며, 실행은 읽기 전용 트랜잭션에서 하고 항상 롤백
+     */
+    public List<PlanReport> explainSlowest(int top) {
+        List<PlanReport> reports = new ArrayList<>();
+        List<QueryShapeRecorder.ShapeStats> slowest = recorder.snapshot().stream()
+                .filter(s -> s.getSql().trim().toLowerCase(Locale.ROOT).startsWith("select"))
+                .sorted((a, b) -> Long.compare(b.getMaxNanos(), a.getMaxNanos()))
+                .limit(top)
+                .toList();
+        for (QueryShapeRecorder.ShapeStats shape : slowest) {
+            JsonNode plan = null;
+            String error = null;
+            try {
+                plan = explain(shape.getSql(), shape.getSlowestParameters());
+            } catch (SQLException | RuntimeException e) {
+                error = e.getMessage();
+            }
+            reports.add(new PlanReport(shape.getRepositoryMethod(), shape.getSql(), shape.getCount(),
+                    shape.getMeanMillis(), shape.getMaxNanos() / 1e6, plan, error));
+        }
+        return reports;
+    }
+
+    private JsonNode explain(String sql, Object[] parameters) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            try (PreparedStatement stmt = connection.prepareStatement("EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) " + sql)) {
+                for (int i = 0; i < parameters.length; i++) {
+                    stmt.setObject(i + 1, parameters[i]);
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    rs.next();
+                    return objectMapper.readTree(rs.getString(1)).get(0);
+                } catch (JsonProcessingException e) {
+                    throw new IllegalStateException("EXPLAIN 결과 파싱 실패", e);
+                }
+            } finally {
+                connection.rollback();
+                connection.setReadOnly(false);
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * pg_stat_statements 에서 company 관련 상위 쿼리 조회
+     *
+     * @return 확장이 없으면 빈 목록
+     */
+    public List<Map<String, Object>> readPgStatStatements(int limit) {
+        String sql = """
+                SELECT query, calls, total_exec_time, mean_exec_time, rows, shared_blks_hit, shared_blks_read
+                FROM pg_stat_statements
+                WHERE query ILIKE '%company%'
+                ORDER BY total_exec_time DESC
+                LIMIT ?
+                """;
+        List<Map<String, Object>> rows = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            if (!hasPgStatStatements(connection)) {
+                return rows;
+            }
+            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                stmt.setInt(1, limit);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        Map<String, Object> row = new LinkedHashMap<>();
+                        row.put("query", rs.getString("query"));
+                        row.put("calls", rs.getLong("calls"));
+                        row.put("totalMillis", rs.getDouble("total_exec_time"));
+                        row.put("meanMillis", rs.getDouble("mean_exec_time"));
+                        row.put("rows", rs.getLong("rows"));
+                        row.put("sharedBlocksHit", rs.getLong("shared_blks_hit"));
+                        row.put("sharedBlocksRead", rs.getLong("shared_blks_read"));
+                        rows.add(row);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            log.warn("pg_stat_statements 조회 실패: {}", e.getMessage());
+        }
+        return rows;
+    }
+
+    public boolean isPgStatStatementsAvailable() {
+        try (Connection connection = dataSource.getConnection()) {
+            return hasPgStatStatements(connection);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private boolean hasPgStatStatements(Connection connection) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "SELECT 1 FROM pg_extension WHERE extname = 'pg_stat_statements'");
+             ResultSet rs = stmt.executeQuery()) {
+            return rs.next();
+        }
+    }
+
+    /**
+     * EXPLAIN 결과와 통계 뷰를 바탕으로 인덱스 추천 목록 생성
+     */
+    public List<Recommendation> recommend(List<PlanReport> plans) {
+        Map<String, Recommendation> recommendations = new LinkedHashMap<>();
+        try (Connection connection = dataSource.getConnection()) {
+            for (PlanReport report : plans) {
+                if (report.plan() != null) {
+                    collectMissingIndexes(connection, report, report.plan().get("Plan"), recommendations);
+                }
+            }
+            collectUnusedIndexes(connection, recommendations);
+        } catch (SQLException e) {
+            log.warn("인덱스 추천 생성 실패: {}", e.getMessage());
+        }
+        return new ArrayList<>(recommendations.values());
+    }
+
+    private void collectMissingIndexes(Connection connection, PlanReport report, JsonNode node,
+                                       Map<String, Recommendation> out) throws SQLException {
+        if (node == null) {
+            return;
+        }
+        if ("Seq Scan".equals(node.path("Node Type").asText()) && node.has("Filter")) {
+            long removed = node.path("Rows Removed by Filter").asLong();
+            long returned = node.path("Actual Rows").asLong();
+            double ratio = removed / (double) Math.max(1, removed + returned);
+            if (removed >= MIN_ROWS_REMOVED && ratio >= MIN_REMOVED_RATIO) {
+                String filter = node.path("Filter").asText();
+                String table = parentTable(connection, node.path("Relation Name").asText());
+                Matcher matcher = FILTER_COLUMN.matcher(filter);
+                if (matcher.find()) {
+                    String column = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+                    boolean like = filter.contains("~~");
+                    if (like || !isLowCardinality(connection, table, column)) {
+                        String expression = filter.contains("upper(") ? "upper(" + column + ")" : column;
+                        String ddl = like
+                                ? "CREATE EXTENSION IF NOT EXISTS pg_trgm; CREATE INDEX idx_" + table + "_" + column
+                                + "_trgm ON " + table + " USING gin (" + expression + " gin_trgm_ops);"
+                                : "CREATE INDEX idx_" + table + "_" + column + " ON " + table + " (" + column + ");";
+                        double savedMillis = report.calls() * report.meanMillis() * ratio;
+                        out.putIfAbsent(table + "." + expression, new Recommendation("MISSING_INDEX", table, column, ddl,
+                                String.format("%s: Seq Scan 이 필터 [%s] 로 %,d 행 중 %.1f%% 를 버림",
+                                        report.repositoryMethod(), filter, removed + returned, ratio * 100),
+                                String.format("지금까지 누적 약 %.1f ms 절감 (호출 %d회 × 평균 %.2f ms × %.2f)",
+                                        savedMillis, report.calls(), report.meanMillis(), ratio)));
+                    }
+                }
+            }
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectMissingIndexes(connection, report, child, out);
+        }
+    }
+
+    private void collectUnusedIndexes(Connection connection, Map<String, Recommendation> out) throws SQLException {
+        // pg_stat_user_indexes 에는 파티션 인덱스만 있으므로 최상위 인덱스(pg_partition_root)로 묶어 합산
+        String sql = """
+                SELECT root.oid::regclass::text AS index_name, t.relname AS table_name,
+                       COUNT(*) AS partitions, SUM(u.size_bytes) AS size_bytes
+                FROM (
+                    SELECT COALESCE(pg_partition_root(s.indexrelid), s.indexrelid) AS root_oid, s.idx_scan,
+                           pg_relation_size(s.indexrelid) AS size_bytes
+                    FROM pg_stat_user_indexes s
+                ) u
+                JOIN pg_class root ON root.oid = u.root_oid
+                JOIN pg_index i ON i.indexrelid = u.root_oid
+                JOIN pg_class t ON t.oid = i.indrelid
+                WHERE NOT i.indisunique
+                  AND NOT EXISTS (SELECT 1 FROM pg_constraint c WHERE c.conindid = u.root_oid)
+                  AND t.relname LIKE 'company%'
+                GROUP BY root.oid, t.relname
+                HAVING SUM(u.idx_scan) = 0
+                ORDER BY size_bytes DESC
+                """;
+        try (PreparedStatement stmt = connection.prepareStatement(sql); ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                String table = rs.getString("table_name");
+                String index = rs.getString("index_name");
+                long partitions = rs.getLong("partitions");
+                long size = rs.getLong("size_bytes");
+                out.putIfAbsent(index, new Recommendation("UNUSED_INDEX", table, null,
+                        "DROP INDEX IF EXISTS " + index + ";",
+                        partitions > 1
+                                ? "통계 초기화 이후 모든 파티션(" + partitions + " 개)에서 한 번도 사용되지 않은 인덱스 (idx_scan 합 = 0)"
+                                : "통계 초기화 이후 한 번도 사용되지 않은 인덱스 (idx_scan = 0)",
+                        String.format("디스크 %,d KB 확보 및 INSERT/UPDATE 시 인덱스 갱신 비용 제거", size / 1024)));
+            }
+        }
+    }
+
+    /**
+     * 파티션이면 부모 테이블명 반환 (인덱스는 부모에 생성해야 모든 파티션에 적용됨)
+     */
+    private String parentTable(Connection connection, String relation) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "SELECT inhparent::regclass::text FROM pg_inherits WHERE inhrelid = ?::regclass")) {
+            stmt.setString(1, relation);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getString(1) : relation;
+            }
+        }
+    }
+
+    /**
+     * 파티션 테이블은 부모가 자동 ANALYZE 되지 않으므로 말단 파티션들의 통계를 합산
+     * (파티션별 고유값 수의 합이 전체 고유값 수의 상한)
+     */
+    private boolean isLowCardinality(Connection connection, String table, String column) throws SQLException {
+        String sql = """
+                SELECT s.n_distinct
+                FROM pg_partition_tree(?::regclass) p
+                JOIN pg_class c ON c.oid = p.relid
+                JOIN pg_namespace n ON n.oid = c.relnamespace
+                JOIN pg_stats s ON s.schemaname = n.nspname AND s.tablename = c.relname AND s.attname = ?
+                WHERE p.isleaf
+                """;
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, table);
+            stmt.setString(2, column);
+            try (ResultSet rs = stmt.executeQuery()) {
+                double distinct = 0;
+                boolean analyzed = false;
+                while (rs.next()) {
+                    // n_distinct 가 음수면 행 수 대비 비율 → 고유값이 많은 컬럼
+                    if (rs.getDouble(1) <= 0) {
+                        return false;
+                    }
+                    distinct += rs.getDouble(1);
+                    analyzed = true;
+                }
+                return analyzed && distinct <= LOW_CARDINALITY;
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.qcheck.qcheck.advisor;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * 쿼리 어드바이저 설정
+ *
+ * DataSource 빈을 QueryRecordingDataSource 로 감싸 CompanyRepository 쿼리를 기록
+ * 비활성화: app.query-advisor.enabled=false (기록 없이 엔드포인트의 pg_stat 분석만 사용 가능)
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.query-advisor.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryAdvisorConfiguration {
+
+    /**
+     * BeanPostProcessor 는 다른 빈보다 먼저 생성되므로 static 메서드 + ObjectProvider 로 지연 조회
+     */
+    @Bean
+    public static BeanPostProcessor queryRecordingDataSourcePostProcessor(ObjectProvider<QueryShapeRecorder> recorder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof QueryRecordingDataSource)) {
+                    return new QueryRecordingDataSource(dataSource, recorder.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,69 @@
+package com.qcheck.qcheck.advisor;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 인덱스/쿼리 플랜 어드바이저 Actuator 엔드포인트
+ *
+ * URL: GET /actuator/queryadvisor?top=3
+ * 노출 설정: management.endpoints.web.exposure.include=health,queryadvisor
+ *
+ * 응답 구성:
+ * - shapes: CompanyRepository 쿼리 형태별 호출 수, 평균/최대/누적 시간
+ * - plans: 가장 느린 top 개 쿼리 형태의 EXPLAIN (ANALYZE, BUFFERS) 결과
+ * - pgStatStatements: pg_stat_statements 확장이 있을 때 company 관련 상위 쿼리
+ * - recommendations: 누락/미사용 인덱스 추천과 예상 이득
+ *
+ * DELETE /actuator/queryadvisor : 수집한 쿼리 형태 통계 초기화
+ */
+@Component
+@Endpoint(id = "queryadvisor")
+public class QueryAdvisorEndpoint {
+
+    private static final int DEFAULT_TOP = 3;
+
+    @Autowired
+    private QueryShapeRecorder recorder;
+
+    @Autowired
+    private IndexAdvisor indexAdvisor;
+
+    @ReadOperation
+    public Map<String, Object> report(@Nullable Integer top) {
+        List<Map<String, Object>> shapes = recorder.snapshot().stream()
+                .map(shape -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("repositoryMethod", shape.getRepositoryMethod());
+                    row.put("sql", shape.getSql());
+                    row.put("calls", shape.getCount());
+                    row.put("meanMillis", shape.getMeanMillis());
+                    row.put("maxMillis", shape.getMaxNanos() / 1e6);
+                    row.put("totalMillis", shape.getTotalNanos() / 1e6);
+                    return row;
+                })
+                .toList();
+        List<IndexAdvisor.PlanReport> plans = indexAdvisor.explainSlowest(top != null ? top : DEFAULT_TOP);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("shapes", shapes);
+        report.put("plans", plans);
+        report.put("pgStatStatementsAvailable", indexAdvisor.isPgStatStatementsAvailable());
+        report.put("pgStatStatements", indexAdvisor.readPgStatStatements(20));
+        report.put("recommendations", indexAdvisor.recommend(plans));
+        return report;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        recorder.reset();
+    }
+}
@@ -0,0 +1,111 @@
+package com.qcheck.qcheck.advisor;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 리포지토리 쿼리 실행 시간과 바인드 값을 기록하는 DataSource 래퍼
+ *
+ * 동작 방식:
+ * - 커넥션을 얻는 시점에 리포지토리 호출 중이 아니면(감사 로그 기록, 스냅샷, 인원 집계, 풀 예열 등) 원본 커넥션 반환 → 오버헤드 없음
+ * - 리포지토리 호출 중에 얻은 커넥션만 프록시로 감싸고, prepareStatement 시점에 다시 리포지토리 호출 중인지 확인
+ *   (open-in-view 로 요청 내내 유지되는 커넥션도 리포지토리 호출 밖의 SQL 은 기록하지 않음)
+ * - 리포지토리 호출 중이면 PreparedStatement 를 프록시로 감싸 setXxx 바인드 값과 execute* 시간을 기록
+ * - 서비스 트랜잭션이 리포지토리 호출 전에 먼저 얻은 커넥션에서 실행된 리포지토리 SQL 은 기록되지 않음
+ *
+ * DelegatingDataSource 를 상속하므로 unwrap(HikariDataSource.class) 등은 원본으로 위임됨
+ * close() 도 원본으로 위임 (빈 종료 시 Spring 이 래퍼의 close 를 호출하므로 HikariCP 풀이 정상 종료됨)
+ */
+public class QueryRecordingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final QueryShapeRecorder recorder;
+
+    public QueryRecordingDataSource(DataSource target, QueryShapeRecorder recorder) {
+        super(target);
+        this.recorder = recorder;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    @Override
+    public void close() {
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                throw new IllegalStateException("DataSource 종료 실패", e);
+            }
+        }
+    }
+
+    private Connection wrap(Connection connection) {
+        if (recorder.currentMethod() == null) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    String repositoryMethod = recorder.currentMethod();
+                    if (repositoryMethod != null && result instanceof PreparedStatement statement
+                            && "prepareStatement".equals(method.getName())) {
+                        return wrap(statement, repositoryMethod, (String) args[0]);
+                    }
+                    return result;
+                });
+    }
+
+    private PreparedStatement wrap(PreparedStatement statement, String repositoryMethod, String sql) {
+        InvocationHandler handler = new InvocationHandler() {
+            private final List<Object> parameters = new ArrayList<>();
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    while (parameters.size() < index) {
+                        parameters.add(null);
+                    }
+                    parameters.set(index - 1, "setNull".equals(name) ? null : args[1]);
+                } else if ("clearParameters".equals(name)) {
+                    parameters.clear();
+                } else if (name.startsWith("execute") && (args == null || args.length == 0)) {
+                    long start = System.nanoTime();
+                    try {
+                        return QueryRecordingDataSource.invoke(statement, method, args);
+                    } finally {
+                        recorder.record(repositoryMethod, sql, System.nanoTime() - start, parameters.toArray());
+                    }
+                }
+                return QueryRecordingDataSource.invoke(statement, method, args);
+            }
+        };
+        return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.qcheck.qcheck.advisor;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * CompanyRepository 쿼리 형태(query shape)별 실행 통계 저장소
+ *
+ * 쿼리 형태: "리포지토리 메서드 + 실제 실행된 SQL" 조합
+ * - RepositoryQueryAspect 가 현재 실행 중인 리포지토리 메서드를 스레드에 표시
+ * - QueryRecordingDataSource 가 그 표시가 있는 동안 실행된 SQL 의 시간과 바인드 값을 기록
+ *
+ * 수집 항목: 실행 횟수, 누적/최대 시간, 가장 느렸던 실행의 바인드 값 (EXPLAIN ANALYZE 재현용)
+ */
+@Component
+public class QueryShapeRecorder {
+
+    /**
+     * 기록할 최대 쿼리 형태 수 (메모리 상한)
+     */
+    private static final int MAX_SHAPES = 500;
+
+    private static final ThreadLocal<String> CURRENT_METHOD = new ThreadLocal<>();
+
+    private final Map<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+
+    /**
+     * 현재 스레드에서 실행 중인 리포지토리 메서드 표시
+     *
+     * @return 이전 값 (중첩 호출 복원용)
+     */
+    String enter(String repositoryMethod) {
+        String previous = CURRENT_METHOD.get();
+        CURRENT_METHOD.set(repositoryMethod);
+        return previous;
+    }
+
+    void exit(String previous) {
+        if (previous == null) {
+            CURRENT_METHOD.remove();
+        } else {
+            CURRENT_METHOD.set(previous);
+        }
+    }
+
+    /**
+     * 현재 스레드의 리포지토리 메서드 (리포지토리 호출 밖이면 null → 기록 대상 아님)
+     */
+    String currentMethod() {
+        return CURRENT_METHOD.get();
+    }
+
+    void record(String repositoryMethod, String sql, long elapsedNanos, Object[] parameters) {
+        String key = repositoryMethod + '|' + sql;
+        ShapeStats stats = shapes.get(key);
+        if (stats == null) {
+            if (shapes.size() >= MAX_SHAPES) {
+                return;
+            }
+            stats = shapes.computeIfAbsent(key, k -> new ShapeStats(repositoryMethod, sql));
+        }
+        stats.record(elapsedNanos, parameters);
+    }
+
+    /**
+     * 누적 시간 내림차순 스냅샷
+     */
+    public List<ShapeStats> snapshot() {
+        return shapes.values().stream()
+                .sorted(Comparator.comparingLong(ShapeStats::getTotalNanos).reversed())
+                .toList();
+    }
+
+    public void reset() {
+        shapes.clear();
+    }
+
+    /**
+     * 쿼리 형태 하나의 통계
+     */
+    public static class ShapeStats {
+
+        private final String repositoryMethod;
+        private final String sql;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private volatile Object[] slowestParameters = new Object[0];
+
+        ShapeStats(String repositoryMethod, String sql) {
+            this.repositoryMethod = repositoryMethod;
+            this.sql = sql;
+        }
+
+        void record(long elapsedNanos, Object[] parameters) {
+            count.increment();
+            totalNanos.add(elapsedNanos);
+            long max = maxNanos.get();
+            while (elapsedNanos > max) {
+                if (maxNanos.compareAndSet(max, elapsedNanos)) {
+                    slowestParameters = parameters;
+                    break;
+                }
+                max = maxNanos.get();
+            }
+        }
+
+        public String getRepositoryMethod() {
+            return repositoryMethod;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        public double getMeanMillis() {
+            long calls = getCount();
+            return calls == 0 ? 0 : getTotalNanos() / 1e6 / calls;
+        }
+
+        Object[] getSlowestParameters() {
+            return slowestParameters;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.qcheck.qcheck.advisor;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * CompanyRepository 호출 구간 표시 Aspect
+ *
+ * 리포지토리 메서드가 실행되는 동안 메서드명을 QueryShapeRecorder 에 표시하여,
+ * 그 사이 실행된 SQL 을 해당 메서드의 쿼리 형태로 기록하게 함
+ */
+@Aspect
+@Component
+public class RepositoryQueryAspect {
+
+    @Autowired
+    private QueryShapeRecorder recorder;
+
+    /**
+     * target(...) 사용: JpaRepository 에서 상속한 findAll/findById/count 등도 포함
+     */
+    @Around("target(com.qcheck.qcheck.repository.CompanyRepository)")
+    public Object markRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        String previous = recorder.enter("CompanyRepository." + joinPoint.getSignature().getName());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            recorder.exit(previous);
+        }
+    }
+}
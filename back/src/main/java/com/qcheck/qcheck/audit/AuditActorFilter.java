@@ -0,0 +1,40 @@
+package com.qcheck.qcheck.audit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 요청 헤더 X-Actor 에서 변경 주체를 읽어 AuditActorHolder 에 설정하는 필터
+ *
+ * 로그인/인증 도입 전까지의 임시 방식이며, 인증 도입 후에는 인증 정보의 emp_id 로 대체
+ * 최대 50자 (company.created_ep / updated_ep 컬럼 길이)
+ */
+@Component
+public class AuditActorFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Actor";
+
+    private static final int MAX_LENGTH = 50;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String actor = request.getHeader(HEADER);
+        if (StringUtils.hasText(actor)) {
+            actor = actor.trim();
+            AuditActorHolder.set(actor.length() > MAX_LENGTH ? actor.substring(0, MAX_LENGTH) : actor);
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            AuditActorHolder.clear();
+        }
+    }
+}
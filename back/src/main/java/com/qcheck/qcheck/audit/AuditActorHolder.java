@@ -0,0 +1,48 @@
+package com.qcheck.qcheck.audit;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 현재 요청의 변경 주체(actor) 보관소
+ *
+ * 값 출처: AuditActorFilter 가 요청 헤더(X-Actor, 사원 emp_id)에서 설정
+ * 기본값: SYSTEM (요청 밖의 배치/기동 작업 등, database_setup.sql 의 created_ep 기본값과 동일)
+ */
+public final class AuditActorHolder {
+
+    public static final String SYSTEM = "SYSTEM";
+
+    private static final ThreadLocal<String> ACTOR = new ThreadLocal<>();
+
+    private AuditActorHolder() {
+    }
+
+    public static String currentActor() {
+        String actor = ACTOR.get();
+        return actor != null ? actor : SYSTEM;
+    }
+
+    /**
+     * 다른 스레드에서 실행할 작업에 현재 변경 주체를 전달 (샤드 작업 스레드 등)
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        String actor = ACTOR.get();
+        return () -> {
+            String previous = ACTOR.get();
+            ACTOR.set(actor);
+            try {
+                return task.call();
+            } finally {
+                ACTOR.set(previous);
+            }
+        };
+    }
+
+    static void set(String actor) {
+        ACTOR.set(actor);
+    }
+
+    static void clear() {
+        ACTOR.remove();
+    }
+}
@@ -0,0 +1,19 @@
+package com.qcheck.qcheck.audit;
+
+import com.qcheck.qcheck.entity.CompanyStatus;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 감사 로그 한 건 (company_audit 테이블의 한 행)
+ *
+ * @param companyId 변경된 회사 ID
+ * @param action    INSERT / UPDATE / DELETE
+ * @param name      변경 후 회사명
+ * @param status    변경 후 상태
+ * @param actor     변경 주체 (emp_id 또는 SYSTEM)
+ * @param changedAt 변경 시각
+ */
+public record AuditEntry(Long companyId, String action, String name, CompanyStatus status,
+                         String actor, OffsetDateTime changedAt) {
+}
@@ -0,0 +1,367 @@
+package com.qcheck.qcheck.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qcheck.qcheck.event.CompanyChangedEvent;
+import com.qcheck.qcheck.event.CompanyStatusBulkChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 비동기 배치 감사 로그 기록기
+ *
+ * 목적: Company 변경 시 감사 기록 때문에 쓰기 경로에 DB 왕복이 추가되지 않도록
+ *       메모리 큐에 쌓고 백그라운드 스레드가 모아서 한 번에 INSERT
+ *
+ * 동작 방식:
+ * 1. enqueue(): 제한된 크기의 큐(ArrayBlockingQueue)에 추가
+ *    (일괄 상태 전환은 enqueueAll() 로 한 번에 추가, 대기하지 않음)
+ *    - 큐가 가득 차면 offer-timeout-ms 동안 대기 (기본 0: 요청 스레드를 막지 않음)
+ *    - 그래도 자리가 없으면 스필 대기 목록에 추가 → 기록 스레드가 모아서 스필(spill) 파일에 기록, 유실 없음
+ *      (요청 스레드는 파일 I/O 를 하지 않음)
+ * 2. 기록 스레드: flush-interval-ms 마다 또는 batch-size 만큼 모이면
+ *    INSERT INTO company_audit ... VALUES (...), (...), ... 다중 행 INSERT 1회로 기록
+ *    - 실패 시 3회 재시도 후 스필 파일에 기록
+ *    - 스필 파일은 한 번 열어 둔 채로 묶음 단위로 추가 기록 (종료 시 닫음)
+ * 3. 종료 시 (SmartLifecycle.stop): 웹 서버가 멈춘 뒤 큐에 남은 항목을 모두 기록
+ *    - DB 에 기록할 수 없으면 스필 파일에 기록하고, 다음 기동 시 스필 파일을 먼저 재적재
+ *    - 재적재 중 중단되어 남은 .replaying 파일도 다음 기동 시 먼저 재적재 (중단 지점까지 기록된 항목은 중복될 수 있음)
+ *
+ * 설정 (application.properties):
+ * - app.audit.queue-capacity=10000
+ * - app.audit.batch-size=500
+ * - app.audit.flush-interval-ms=200
+ * - app.audit.offer-timeout-ms=0
+ * - app.audit.spill-file=audit-spill.jsonl
+ *
+ * 메트릭: qcheck.audit.queue.size, qcheck.audit.written, qcheck.audit.spilled
+ */
+@Slf4j
+@Component
+public class AuditWriter implements SmartLifecycle {
+
+    private static final int MAX_RETRIES = 3;
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO company_audit (company_id, action, name, status, actor, changed_at) VALUES ";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.audit.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.audit.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.audit.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${app.audit.offer-timeout-ms:0}")
+    private long offerTimeoutMs;
+
+    @Value("${app.audit.spill-file:audit-spill.jsonl}")
+    private Path spillFile;
+
+    private BlockingQueue<AuditEntry> queue;
+
+    /**
+     * 큐가 가득 차서 스필 파일로 보낼 항목 (기록 스레드가 모아서 기록)
+     */
+    private final Queue<AuditEntry> overflow = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 열어 둔 스필 파일 (spill() 안에서만 사용)
+     */
+    private BufferedWriter spillWriter;
+    private Thread writerThread;
+    private Counter writtenCounter;
+    private Counter spilledCounter;
+    private volatile boolean running;
+
+    /**
+     * 감사 항목을 큐에 추가 (호출 스레드는 DB 에 접근하지 않음)
+     */
+    public void enqueue(AuditEntry entry) {
+        if (!running) {
+            log.warn("감사 기록기 정지 상태 - 스필 파일에 기록: {}", entry);
+            spill(List.of(entry));
+            return;
+        }
+        try {
+            if (queue.offer(entry, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        overflow.add(entry);
+    }
+
+    /**
+     * 감사 항목 여러 건을 큐에 추가 (대기 없이 남는 자리만큼 넣고 나머지는 스필 대기 목록)
+     */
+    public void enqueueAll(List<AuditEntry> entries) {
+        if (!running) {
+            log.warn("감사 기록기 정지 상태 - 스필 파일에 기록: {} 건", entries.size());
+            spill(entries);
+            return;
+        }
+        int overflowed = 0;
+        for (AuditEntry entry : entries) {
+            if (!queue.offer(entry)) {
+                overflow.add(entry);
+                overflowed++;
+            }
+        }
+        if (overflowed > 0) {
+            log.debug("감사 큐 포화 - 스필 대기 {} 건", overflowed);
+        }
+    }
+
+    /**
+     * 회사 변경 이벤트를 감사 항목으로 큐에 추가
+     *
+     * 커밋 후에만 호출됨 (트랜잭션 밖에서 발행된 이벤트는 즉시 호출)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCompanyChanged(CompanyChangedEvent event) {
+        enqueue(new AuditEntry(event.companyId(), event.action(), event.name(), event.status(),
+                event.actor(), event.changedAt()));
+    }
+
+    /**
+     * 일괄 상태 전환 이벤트를 전환된 회사마다 UPDATE 감사 항목으로 큐에 추가
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCompanyStatusBulkChanged(CompanyStatusBulkChangedEvent event) {
+        List<AuditEntry> entries = new ArrayList<>(event.companyIds().size());
+        for (int i = 0; i < event.companyIds().size(); i++) {
+            entries.add(new AuditEntry(event.companyIds().get(i), "UPDATE", event.names().get(i), event.to(),
+                    event.actor(), event.changedAt()));
+        }
+        enqueueAll(entries);
+    }
+
+    @Override
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        writtenCounter = meterRegistry.counter("qcheck.audit.written");
+        spilledCounter = meterRegistry.counter("qcheck.audit.spilled");
+        Gauge.builder("qcheck.audit.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+
+        replaySpillFile();
+
+        running = true;
+        writerThread = new Thread(this::runWriter, "audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * 종료 시 큐에 남은 항목을 모두 기록 (기록 실패 시 스필 파일)
+     */
+    @Override
+    public void stop() {
+        running = false;
+        writerThread.interrupt();
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<AuditEntry> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            flush(remaining.subList(from, Math.min(from + batchSize, remaining.size())));
+        }
+        spillOverflow();
+        closeSpillWriter();
+        log.info("감사 기록기 종료 - 종료 시 기록 {} 건", remaining.size());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 웹 서버(graceful shutdown 포함)가 멈춘 뒤에 정지하도록 낮은 phase 사용
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void runWriter() {
+        List<AuditEntry> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                AuditEntry first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                spillOverflow();
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                // stop() 에서 깨움 → 남은 항목은 stop() 이 기록
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+
+    /**
+     * 다중 행 INSERT 1회로 기록, 재시도 후에도 실패하면 스필 파일에 기록
+     */
+    private void flush(List<AuditEntry> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + batch.size() * 20).append(INSERT_PREFIX);
+        Object[] args = new Object[batch.size() * 6];
+        for (int i = 0; i < batch.size(); i++) {
+            AuditEntry entry = batch.get(i);
+            sql.append(i == 0 ? "(?, ?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?, ?)");
+            args[i * 6] = entry.companyId();
+            args[i * 6 + 1] = entry.action();
+            args[i * 6 + 2] = entry.name();
+            args[i * 6 + 3] = entry.status() != null ? entry.status().name() : null;
+            args[i * 6 + 4] = entry.actor();
+            args[i * 6 + 5] = Timestamp.from(entry.changedAt().toInstant());
+        }
+        for (int attempt = 1; attempt <= MAX_RETRIES; attempt++) {
+            try {
+                jdbcTemplate.update(sql.toString(), args);
+                writtenCounter.increment(batch.size());
+                return;
+            } catch (RuntimeException e) {
+                log.warn("감사 로그 기록 실패 ({}/{}): {}", attempt, MAX_RETRIES, e.getMessage());
+            }
+        }
+        spill(batch);
+    }
+
+    /**
+     * 스필 대기 목록을 한 번에 스필 파일로 기록 (기록 스레드, 종료 시)
+     */
+    private void spillOverflow() {
+        if (overflow.isEmpty()) {
+            return;
+        }
+        List<AuditEntry> entries = new ArrayList<>();
+        AuditEntry entry;
+        while ((entry = overflow.poll()) != null) {
+            entries.add(entry);
+        }
+        log.warn("감사 큐 포화 - 스필 파일에 기록: {} 건", entries.size());
+        spill(entries);
+    }
+
+    private synchronized void spill(List<AuditEntry> entries) {
+        try {
+            if (spillWriter == null) {
+                spillWriter = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            for (AuditEntry entry : entries) {
+                spillWriter.write(objectMapper.writeValueAsString(entry));
+                spillWriter.newLine();
+            }
+            spillWriter.flush();
+            spilledCounter.increment(entries.size());
+        } catch (IOException e) {
+            log.error("감사 스필 파일 기록 실패 ({} 건 유실): {}", entries.size(), e.getMessage());
+            closeSpillWriter();
+        }
+    }
+
+    private synchronized void closeSpillWriter() {
+        if (spillWriter == null) {
+            return;
+        }
+        try {
+            spillWriter.close();
+        } catch (IOException e) {
+            log.warn("감사 스필 파일 닫기 실패: {}", e.getMessage());
+        }
+        spillWriter = null;
+    }
+
+    /**
+     * 이전 실행에서 남긴 스필 파일을 DB 로 재적재
+     *
+     * 1. 이전 재적재가 중단되어 남은 .replaying 파일을 먼저 재적재
+     * 2. 스필 파일을 .replaying 으로 옮긴 뒤 재적재
+     * 재적재 중 기록에 실패한 묶음은 flush() 가 새 스필 파일에 기록하므로 다음 기동 시 다시 시도됨
+     */
+    private void replaySpillFile() {
+        Path replaying = spillFile.resolveSibling(spillFile.getFileName() + ".replaying");
+        try {
+            if (Files.exists(replaying)) {
+                replay(replaying);
+            }
+            if (Files.exists(spillFile)) {
+                Files.move(spillFile, replaying);
+                replay(replaying);
+            }
+        } catch (IOException e) {
+            log.warn("감사 스필 파일 재적재 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 파일의 항목을 묶음 단위로 기록한 뒤 파일 삭제
+     */
+    private void replay(Path file) throws IOException {
+        List<AuditEntry> entries = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                entries.add(objectMapper.readValue(line, AuditEntry.class));
+            } catch (JsonProcessingException e) {
+                // 기록 도중 중단되어 잘린 마지막 줄 등 → 건너뛰고 나머지 재적재
+                log.warn("감사 스필 항목 해석 실패 (건너뜀): {}", line);
+            }
+        }
+        for (int from = 0; from < entries.size(); from += batchSize) {
+            flush(entries.subList(from, Math.min(from + batchSize, entries.size())));
+        }
+        Files.delete(file);
+        log.info("감사 스필 파일 재적재 완료: {} ({} 건)", file.getFileName(), entries.size());
+    }
+}
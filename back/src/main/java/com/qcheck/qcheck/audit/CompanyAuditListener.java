@@ -0,0 +1,71 @@
+package com.qcheck.qcheck.audit;
+
+import com.qcheck.qcheck.entity.Company;
+import com.qcheck.qcheck.entity.CompanyStatus;
+import com.qcheck.qcheck.event.CompanyChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Company 변경 감사 리스너 (JPA 엔터티 리스너)
+ *
+ * 역할:
+ * 1. @PrePersist / @PreUpdate: company 테이블의 created_at / created_ep / updated_at / updated_ep 를 같은 INSERT/UPDATE 에 포함
+ *    (updated_at 트리거는 잠금 경합 때문에 사용하지 않으므로 애플리케이션에서 설정)
+ * 2. @PostPersist / @PostUpdate / @PostRemove: CompanyChangedEvent 발행
+ *    - 구독자(AuditWriter 등)는 커밋 후에만 처리 (롤백된 변경은 기록하지 않음)
+ *    - 쓰기 경로에서는 이벤트 발행만 하므로 추가 DB 왕복 없음
+ *
+ * Spring Boot 는 Hibernate 에 SpringBeanContainer 를 설정하므로 @Autowired 주입이 동작함
+ */
+@Component
+public class CompanyAuditListener {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PrePersist
+    public void beforeInsert(Company company) {
+        if (company.getCreatedAt() == null) {
+            company.setCreatedAt(OffsetDateTime.now());
+        }
+        if (company.getCreatedEp() == null) {
+            company.setCreatedEp(AuditActorHolder.currentActor());
+        }
+    }
+
+    @PreUpdate
+    public void beforeUpdate(Company company) {
+        company.setUpdatedAt(OffsetDateTime.now());
+        company.setUpdatedEp(AuditActorHolder.currentActor());
+    }
+
+    @PostPersist
+    public void afterInsert(Company company) {
+        record(company, "INSERT", null);
+    }
+
+    @PostUpdate
+    public void afterUpdate(Company company) {
+        // 엔터티 리스너에서는 변경 전 상태를 알 수 없음
+        record(company, "UPDATE", null);
+    }
+
+    @PostRemove
+    public void afterDelete(Company company) {
+        record(company, "DELETE", company.getStatus());
+    }
+
+    private void record(Company company, String action, CompanyStatus previousStatus) {
+        eventPublisher.publishEvent(new CompanyChangedEvent(company.getId(), action, company.getName(),
+                company.getStatus(), previousStatus, AuditActorHolder.currentActor(), OffsetDateTime.now()));
+    }
+}
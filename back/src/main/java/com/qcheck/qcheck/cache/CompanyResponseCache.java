@@ -0,0 +1,216 @@
+package com.qcheck.qcheck.cache;
+
+import com.qcheck.qcheck.entity.CompanyStatus;
+import com.qcheck.qcheck.event.CompanyChangedEvent;
+import com.qcheck.qcheck.event.CompanyStatusBulkChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 회사 목록 응답 본문 캐시 (직렬화가 끝난 JSON 바이트)
+ *
+ * 목적: /all, /active, /sorted, /status/{status} 는 하루 몇 번만 바뀌는데 요청마다 쿼리 + JSON 직렬화를 반복함
+ *       → 인코딩된 응답 본문(선택적으로 gzip 본)을 보관하고 출력 스트림에 한 번에 씀 (ResponseCacheFilter)
+ *
+ * 키: 엔드포인트 경로 + fields 파라미터 (예: "all", "status/ACTIVE", "sorted?fields=id,name", 다른 파라미터는 무시)
+ * 범위(scope): 항목이 담고 있는 행의 상태 (null 이면 전체 상태)
+ *
+ * 무효화 (CompanyChangedEvent, 커밋 후):
+ * - 전체 범위 항목(/all, /sorted): 항상 무효화
+ * - 상태 범위 항목(/active, /status/X): 변경 후 상태 또는 변경 전 상태가 X 일 때만 무효화
+ *   (변경 전 상태를 알 수 없는 JPA 단건 수정은 모든 상태 항목 무효화)
+ * - 일괄 상태 전환(CompanyStatusBulkChangedEvent): 전환 1회에 전체 범위와 from / to 상태 범위 항목을 한 번만 무효화
+ * - 다른 인스턴스나 DB 직접 수정은 이벤트가 오지 않으므로 max-age-ms 로 만료
+ *
+ * 채우기 경쟁: 응답을 만드는 동안 변경이 커밋되면 오래된 본문이 저장될 수 있으므로,
+ *            시작 시점의 세대(generation)가 저장 시점과 다르면 저장하지 않음
+ *
+ * 설정 (application.properties):
+ * - app.response-cache.enabled=true
+ * - app.response-cache.max-age-ms=60000 : 이벤트 없이 바뀐 데이터에 대한 최대 지연
+ * - app.response-cache.max-entries=256  : 키 개수 상한 (가득 차면 만료 항목 정리 후, 그래도 차 있으면 가장 오래된 항목 제거)
+ * - app.response-cache.gzip-min-bytes=1024 : 이 크기 이상이면 gzip 본을 함께 보관 (0 이면 압축 안 함)
+ *
+ * 메트릭:
+ * - qcheck.response-cache.requests (Counter, result=hit|miss)
+ * - qcheck.response-cache.bytes (Gauge) : 보관 중인 본문 크기 합
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.response-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CompanyResponseCache {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.response-cache.max-age-ms:60000}")
+    private long maxAgeMillis;
+
+    @Value("${app.response-cache.max-entries:256}")
+    private int maxEntries;
+
+    @Value("${app.response-cache.gzip-min-bytes:1024}")
+    private int gzipMinBytes;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * 캐시 항목 (본문 배열은 외부에 노출하지 않고 writeTo 로만 출력 → 읽기 전용)
+     */
+    public static final class Entry {
+
+        private final CompanyStatus scope;
+
+        private final byte[] body;
+
+        private final byte[] gzipBody;
+
+        private final long createdNanos = System.nanoTime();
+
+        private Entry(CompanyStatus scope, byte[] body, byte[] gzipBody) {
+            this.scope = scope;
+            this.body = body;
+            this.gzipBody = gzipBody;
+        }
+
+        public boolean hasGzip() {
+            return gzipBody != null;
+        }
+
+        public int length(boolean gzip) {
+            return gzip ? gzipBody.length : body.length;
+        }
+
+        public void writeTo(OutputStream out, boolean gzip) throws IOException {
+            out.write(gzip ? gzipBody : body);
+        }
+
+        private long size() {
+            return body.length + (gzipBody == null ? 0 : gzipBody.length);
+        }
+    }
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("qcheck.response-cache.bytes", entries,
+                        map -> map.values().stream().mapToLong(Entry::size).sum())
+                .description("응답 캐시에 보관 중인 본문 크기")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 유효한 항목 조회 (만료되었으면 제거 후 null)
+     */
+    public Entry get(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && System.nanoTime() - entry.createdNanos > TimeUnit.MILLISECONDS.toNanos(maxAgeMillis)) {
+            entries.remove(key, entry);
+            entry = null;
+        }
+        meterRegistry.counter("qcheck.response-cache.requests", "result", entry != null ? "hit" : "miss").increment();
+        return entry;
+    }
+
+    /**
+     * 응답 생성 시작 전에 호출하여 현재 세대를 받아 둠 (put 에 전달)
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * 응답 본문 저장
+     *
+     * @param startGeneration 응답 생성 시작 시점의 generation()
+     */
+    public void put(String key, CompanyStatus scope, byte[] body, long startGeneration) {
+        if (generation.get() != startGeneration) {
+            return;
+        }
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            makeRoom();
+        }
+        Entry entry = new Entry(scope, body, gzipMinBytes > 0 && body.length >= gzipMinBytes ? gzip(body) : null);
+        entries.put(key, entry);
+        // 저장 직전에 무효화가 끼어들었으면 방금 넣은 항목을 되돌림
+        if (generation.get() != startGeneration) {
+            entries.remove(key, entry);
+        }
+    }
+
+    /**
+     * 가득 찼을 때 자리 확보: 만료 항목을 모두 제거하고, 그래도 가득 차 있으면 가장 오래된 항목 제거
+     * (읽히지 않는 만료 항목이 자리를 차지해 새 키를 저장하지 못하는 일이 없도록)
+     */
+    private void makeRoom() {
+        long now = System.nanoTime();
+        long maxAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxAgeMillis);
+        entries.values().removeIf(entry -> now - entry.createdNanos > maxAgeNanos);
+        if (entries.size() < maxEntries) {
+            return;
+        }
+        entries.entrySet().stream()
+                .min((a, b) -> Long.compare(a.getValue().createdNanos, b.getValue().createdNanos))
+                .ifPresent(oldest -> entries.remove(oldest.getKey(), oldest.getValue()));
+    }
+
+    /**
+     * 커밋된 회사 변경으로 영향받는 항목만 무효화
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCompanyChanged(CompanyChangedEvent event) {
+        generation.incrementAndGet();
+        entries.values().removeIf(entry -> affects(entry.scope, event));
+    }
+
+    /**
+     * 커밋된 일괄 상태 전환으로 영향받는 항목을 한 번에 무효화
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCompanyStatusBulkChanged(CompanyStatusBulkChangedEvent event) {
+        generation.incrementAndGet();
+        entries.values().removeIf(entry -> entry.scope == null || entry.scope == event.from()
+                || entry.scope == event.to());
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    private static boolean affects(CompanyStatus scope, CompanyChangedEvent event) {
+        return scope == null
+                || scope == event.status()
+                || scope == event.previousStatus()
+                || event.isPreviousStatusUnknown();
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,123 @@
+package com.qcheck.qcheck.cache;
+
+import com.qcheck.qcheck.entity.CompanyStatus;
+import com.qcheck.qcheck.snapshot.DirectorySnapshotFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * 회사 목록 응답 캐시 필터
+ *
+ * 대상 (GET): /api/companies/all, /active, /sorted, /status/{status}
+ * - 적중: 캐시된 본문을 출력 스트림에 한 번에 씀 (Accept-Encoding: gzip 이고 gzip 본이 있으면 gzip 본)
+ * - 미적중: 컨트롤러 응답을 그대로 보내면서 본문을 복사해 캐시에 저장 (200 + JSON 만)
+ *
+ * 키는 엔드포인트와 fields 파라미터만으로 만듦 (다른 쿼리 파라미터는 무시)
+ * 디렉터리 스냅샷(X-Directory-Snapshot)이 응답한 경우는 스냅샷이 자체적으로 최신화하므로 저장하지 않음
+ * 응답 헤더 X-Response-Cache: HIT / MISS
+ */
+@Component
+@ConditionalOnProperty(name = "app.response-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Response-Cache";
+
+    private static final String PREFIX = "/api/companies/";
+
+    @Autowired
+    private CompanyResponseCache cache;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String endpoint = path.startsWith(PREFIX) ? path.substring(PREFIX.length()) : "";
+        // scope: 응답에 담기는 행의 상태 (null 이면 전체)
+        CompanyStatus scope = null;
+        boolean cacheable = endpoint.equals("all") || endpoint.equals("sorted");
+        if (endpoint.equals("active")) {
+            scope = CompanyStatus.ACTIVE;
+            cacheable = true;
+        } else if (endpoint.startsWith("status/")) {
+            scope = parseStatus(endpoint.substring("status/".length()));
+            cacheable = scope != null;
+        }
+        if (!cacheable) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String key = cacheKey(endpoint, request);
+
+        CompanyResponseCache.Entry entry = cache.get(key);
+        if (entry != null) {
+            boolean gzip = entry.hasGzip() && acceptsGzip(request);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setHeader(HEADER, "HIT");
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (gzip) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            response.setContentLength(entry.length(gzip));
+            entry.writeTo(response.getOutputStream(), gzip);
+            return;
+        }
+
+        long generation = cache.generation();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        wrapper.setHeader(HEADER, "MISS");
+        wrapper.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        try {
+            chain.doFilter(request, wrapper);
+            if (wrapper.getStatus() == HttpServletResponse.SC_OK
+                    && wrapper.getHeader(DirectorySnapshotFilter.HEADER) == null
+                    && wrapper.getContentType() != null
+                    && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(wrapper.getContentType()))) {
+                cache.put(key, scope, wrapper.getContentAsByteArray(), generation);
+            }
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * 캐시 키: 엔드포인트 + 응답에 영향을 주는 파라미터(fields)만
+     *
+     * 그 외 쿼리 파라미터(캐시 우회용 임의 값 등)는 컨트롤러가 무시하므로 키에 넣지 않음
+     * → 같은 응답이 파라미터마다 따로 저장되어 max-entries 를 채우지 않도록
+     * fields 가 여러 번 오면 컨트롤러와 같이 쉼표로 이어 붙임
+     */
+    private static String cacheKey(String endpoint, HttpServletRequest request) {
+        String[] fields = request.getParameterValues("fields");
+        return fields == null ? endpoint : endpoint + "?fields=" + String.join(",", fields);
+    }
+
+    private static CompanyStatus parseStatus(String value) {
+        for (CompanyStatus status : CompanyStatus.values()) {
+            if (status.name().equals(value)) {
+                return status;
+            }
+        }
+        return null;
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return accept != null && accept.contains("gzip");
+    }
+}
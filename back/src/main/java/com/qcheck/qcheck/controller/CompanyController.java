@@ -1,12 +1,25 @@
 package com.qcheck.qcheck.controller;
 
+import com.qcheck.qcheck.dto.BulkStatusTransitionRequest;
+import com.qcheck.qcheck.dto.BulkStatusTransitionResult;
+import com.qcheck.qcheck.dto.CompanyFieldSelection;
+import com.qcheck.qcheck.dto.CompanyRegistrationRequest;
+import com.qcheck.qcheck.dto.CompanyRegistrationResult;
 import com.qcheck.qcheck.entity.Company;
 import com.qcheck.qcheck.entity.CompanyStatus;
+import com.qcheck.qcheck.index.CompanyStatusBitmapIndex;
 import com.qcheck.qcheck.repository.CompanyRepository;
+import com.qcheck.qcheck.service.CompanyRegistrationService;
+import com.qcheck.qcheck.service.CompanyStatusTransitionService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.net.URI;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,6 +45,17 @@ import java.util.Optional;
  * - GET /api/companies/status/{status} : 상태별 회사 조회
  * - GET /api/companies/search?keyword=검색어 : 회사명 검색
  * - GET /api/companies/count : 전체 회사 개수
+ * - POST /api/companies/status/bulk : 상태 일괄 전환
+ * - POST /api/companies : 회사 등록 (같은 이름이면 기존 회사 반환, Idempotency-Key 지원)
+ *
+ * 필드 선택: 목록/검색 API 는 fields 파라미터로 필요한 필드만 요청 가능 (예: ?fields=id,name)
+ * - 요청한 컬럼만 SELECT 하고 해당 필드만 JSON 으로 응답 (CompanyFieldsRepository)
+ * - 생략하면 기존과 같이 Company 전체 필드
+ *
+ * 참고: app.directory-snapshot.enabled=true 이면 /all, /{id}, /status/{status}, /count 는
+ *       DirectorySnapshotFilter 가 memory-map 스냅샷에서 먼저 응답함 (id, name, status 만 포함)
+ * 참고: /all, /active, /sorted, /status/{status} 응답 본문은 ResponseCacheFilter 가 캐시함
+ *       (회사 변경 커밋 시 영향받는 항목만 무효화, app.response-cache.enabled=false 로 끔)
  */
 @RestController
 @RequestMapping("/api/companies")
@@ -47,6 +71,24 @@ public class CompanyController {
     @Autowired
     private CompanyRepository companyRepository;
 
+    /**
+     * 상태 일괄 전환 서비스 (집합 기반 UPDATE 1문장)
+     */
+    @Autowired
+    private CompanyStatusTransitionService companyStatusTransitionService;
+
+    /**
+     * 멱등 회사 등록 서비스 (이름 선점 + INSERT 를 SQL 1문장으로)
+     */
+    @Autowired
+    private CompanyRegistrationService companyRegistrationService;
+
+    /**
+     * 상태별 압축 비트맵 인덱스 (개수/교집합을 DB 왕복 없이 처리, app.status-index.enabled=true 일 때만, 준비 전에는 SQL 경로 사용)
+     */
+    @Autowired
+    private CompanyStatusBitmapIndex statusIndex;
+
     // ========================================
     // 1. 기본 조회 API들
     // ========================================
@@ -62,10 +104,17 @@ public class CompanyController {
      * curl http://localhost:8081/api/companies/all
      * 또는 브라우저에서 직접 접속
      *
+     * curl "http://localhost:8081/api/companies/all?fields=id,name"
+     *
+     * @param fields 응답에 포함할 필드 (쉼표 구분, 생략 시 전체 필드)
      * @return 모든 회사들의 목록
      */
     @GetMapping("/all")
-    public List<Company> getAllCompanies() {
+    public List<?> getAllCompanies(@RequestParam(required = false) String fields) {
+        if (fields != null) {
+            // 요청한 컬럼만 SELECT
+            return companyRepository.findAllFields(parseFields(fields));
+        }
         // Repository의 findAll() 메서드 호출
         // JPA가 자동으로 "SELECT * FROM company" 쿼리 실행
         return companyRepository.findAll();
@@ -110,10 +159,15 @@ public class CompanyController {
      * curl http://localhost:8081/api/companies/status/ACTIVE
      *
      * @param status 조회할 회사 상태
+     * @param fields 응답에 포함할 필드 (쉼표 구분, 생략 시 전체 필드)
      * @return 해당 상태의 회사들
      */
     @GetMapping("/status/{status}")
-    public List<Company> getCompaniesByStatus(@PathVariable CompanyStatus status) {
+    public List<?> getCompaniesByStatus(@PathVariable CompanyStatus status,
+                                        @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return companyRepository.findFieldsByStatus(parseFields(fields), status);
+        }
         // Repository의 커스텀 메서드 findByStatus() 호출
         // JPA가 자동으로 "SELECT * FROM company WHERE status = ?" 쿼리 생성
         return companyRepository.findByStatus(status);
@@ -134,10 +188,14 @@ public class CompanyController {
      * curl "http://localhost:8081/api/companies/search?keyword=테크"
      *
      * @param keyword 회사명에서 검색할 키워드
+     * @param fields 응답에 포함할 필드 (쉼표 구분, 생략 시 전체 필드)
      * @return 키워드가 포함된 회사들
      */
     @GetMapping("/search")
-    public List<Company> searchCompanies(@RequestParam String keyword) {
+    public List<?> searchCompanies(@RequestParam String keyword, @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return companyRepository.findFieldsByNameContaining(parseFields(fields), keyword);
+        }
         // Repository의 findByNameContaining() 메서드 호출
         // JPA가 자동으로 "SELECT * FROM company WHERE name LIKE %keyword%" 쿼리 생성
         return companyRepository.findByNameContaining(keyword);
@@ -174,8 +232,8 @@ public class CompanyController {
      */
     @GetMapping("/count")
     public long getTotalCompanyCount() {
-        // Repository의 count() 메서드 호출 (JpaRepository에서 기본 제공)
-        return companyRepository.count();
+        // 비트맵 인덱스가 준비되었으면 상태별 비트맵 크기 합, 아니면 Repository의 count() 호출
+        return statusIndex.countAll().orElseGet(companyRepository::count);
     }
 
     /**
@@ -189,8 +247,36 @@ public class CompanyController {
      */
     @GetMapping("/count/status/{status}")
     public long getCompanyCountByStatus(@PathVariable CompanyStatus status) {
-        // Repository의 커스텀 메서드 countByStatus() 호출
-        return companyRepository.countByStatus(status);
+        // 비트맵 인덱스가 준비되었으면 비트맵 크기, 아니면 Repository의 countByStatus() 호출
+        return statusIndex.count(status).orElseGet(() -> companyRepository.countByStatus(status));
+    }
+
+    /**
+     * 주어진 회사 ID 집합 중 특정 상태인 ID 만 조회 (교집합)
+     *
+     * HTTP Method: POST
+     * URL: /api/companies/status/{status}/intersect
+     * 요청 본문: 회사 ID 배열 (예: 검색 결과, 사원의 소속 회사 목록)
+     *
+     * 테스트 방법:
+     * curl -X POST -H "Content-Type: application/json" -d '[1,2,3]' http://localhost:8081/api/companies/status/ACTIVE/intersect
+     *
+     * @param status 조회할 상태
+     * @param ids    대상 회사 ID 목록
+     * @return 해당 상태인 ID 목록 (오름차순)
+     */
+    @PostMapping("/status/{status}/intersect")
+    public List<Long> intersectWithStatus(@PathVariable CompanyStatus status, @RequestBody List<Long> ids) {
+        var matched = statusIndex.intersect(status, ids);
+        if (matched != null) {
+            return matched.stream().mapToObj(Long::valueOf).toList();
+        }
+        // 인덱스 준비 전: SQL 경로
+        return companyRepository.findAllById(ids).stream()
+                .filter(company -> company.getStatus() == status)
+                .map(Company::getId)
+                .sorted()
+                .toList();
     }
 
     // ========================================
@@ -203,10 +289,14 @@ public class CompanyController {
      * HTTP Method: GET
      * URL: /api/companies/sorted
      *
+     * @param fields 응답에 포함할 필드 (쉼표 구분, 생략 시 전체 필드)
      * @return 이름 오름차순으로 정렬된 모든 회사들
      */
     @GetMapping("/sorted")
-    public List<Company> getAllCompaniesSorted() {
+    public List<?> getAllCompaniesSorted(@RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return companyRepository.findAllFieldsOrderByNameAsc(parseFields(fields));
+        }
         // Repository의 findAllByOrderByNameAsc() 메서드 호출
         return companyRepository.findAllByOrderByNameAsc();
     }
@@ -218,10 +308,15 @@ public class CompanyController {
      * URL: /api/companies/sorted/status/{status}
      *
      * @param status 조회할 상태
+     * @param fields 응답에 포함할 필드 (쉼표 구분, 생략 시 전체 필드)
      * @return 이름순으로 정렬된 해당 상태의 회사들
      */
     @GetMapping("/sorted/status/{status}")
-    public List<Company> getCompaniesByStatusSorted(@PathVariable CompanyStatus status) {
+    public List<?> getCompaniesByStatusSorted(@PathVariable CompanyStatus status,
+                                              @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return companyRepository.findFieldsByStatusOrderByNameAsc(parseFields(fields), status);
+        }
         return companyRepository.findByStatusOrderByNameAsc(status);
     }
 
@@ -235,10 +330,14 @@ public class CompanyController {
      * HTTP Method: GET
      * URL: /api/companies/active
      *
+     * @param fields 응답에 포함할 필드 (쉼표 구분, 생략 시 전체 필드)
      * @return 활성 상태인 모든 회사들
      */
     @GetMapping("/active")
-    public List<Company> getActiveCompanies() {
+    public List<?> getActiveCompanies(@RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return companyRepository.findFieldsByStatus(parseFields(fields), CompanyStatus.ACTIVE);
+        }
         // Repository의 @Query 어노테이션으로 작성한 커스텀 메서드 호출
         return companyRepository.findActiveCompanies();
     }
@@ -250,15 +349,90 @@ public class CompanyController {
      * URL: /api/companies/search-ignore-case?name=검색어
      *
      * @param name 검색할 회사명 (대소문자 무관)
+     * @param fields 응답에 포함할 필드 (쉼표 구분, 생략 시 전체 필드)
      * @return 대소문자 구분 없이 일치하는 회사들
      */
     @GetMapping("/search-ignore-case")
-    public List<Company> searchCompaniesIgnoreCase(@RequestParam String name) {
+    public List<?> searchCompaniesIgnoreCase(@RequestParam String name, @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return companyRepository.findFieldsByNameIgnoreCase(parseFields(fields), name);
+        }
         return companyRepository.findByNameIgnoreCase(name);
     }
 
     // ========================================
-    // 6. 유틸리티 API들
+    // 6. 변경 API들
+    // ========================================
+
+    /**
+     * 회사 상태 일괄 전환
+     *
+     * HTTP Method: POST
+     * URL: /api/companies/status/bulk
+     * 요청 본문: { "ids": [1, 2, 3], "from": "ACTIVE", "to": "SUSPENDED" }
+     * 요청 헤더: X-Actor (변경 주체, 선택)
+     *
+     * 테스트 방법:
+     * curl -X POST -H "Content-Type: application/json" -H "X-Actor: admin" \
+     *      -d '{"ids":[1,2],"from":"ACTIVE","to":"SUSPENDED"}' http://localhost:8081/api/companies/status/bulk
+     *
+     * @param request 전환할 ID 목록과 현재/대상 상태
+     * @return ID 별 결과 (UPDATED / STATUS_MISMATCH / NOT_FOUND), 허용되지 않는 전환이면 400
+     */
+    @PostMapping("/status/bulk")
+    public BulkStatusTransitionResult transitionStatusBulk(@Valid @RequestBody BulkStatusTransitionRequest request) {
+        try {
+            return companyStatusTransitionService.transition(request.ids(), request.from(), request.to());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * 회사 등록 (멱등)
+     *
+     * HTTP Method: POST
+     * URL: /api/companies
+     * 요청 본문: { "name": "Tech Corp", "status": "ACTIVE" } (status 생략 시 ACTIVE)
+     * 요청 헤더: Idempotency-Key (선택, 최대 100자), X-Actor (변경 주체, 선택)
+     *
+     * 응답:
+     * - 201 Created + Location: 새로 등록됨
+     * - 201 Created + Idempotent-Replayed: true: 같은 Idempotency-Key 요청의 재전송 (처음 등록한 회사)
+     * - 200 OK: 정규화된 이름(앞뒤/연속 공백, 대소문자 무시)이 같은 회사가 이미 있음 (기존 회사)
+     * - 422 Unprocessable Entity: Idempotency-Key 가 다른 이름의 등록에 이미 사용됨
+     *
+     * 테스트 방법:
+     * curl -i -X POST -H "Content-Type: application/json" -H "Idempotency-Key: 7f3c" \
+     *      -d '{"name":"Tech Corp"}' http://localhost:8081/api/companies
+     *
+     * @param request        회사명과 초기 상태
+     * @param idempotencyKey 멱등 키
+     * @return 등록되었거나 이미 있던 회사
+     */
+    @PostMapping
+    public ResponseEntity<Company> registerCompany(
+            @Valid @RequestBody CompanyRegistrationRequest request,
+            @RequestHeader(name = "Idempotency-Key", required = false) @Size(max = 100) String idempotencyKey) {
+        CompanyRegistrationResult result;
+        try {
+            result = companyRegistrationService.register(request.name(), request.status(), idempotencyKey);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
+        }
+        Company company = result.company();
+        return switch (result.outcome()) {
+            case CREATED -> ResponseEntity.created(URI.create("/api/companies/" + company.getId())).body(company);
+            case REPLAYED -> ResponseEntity.status(HttpStatus.CREATED)
+                    .location(URI.create("/api/companies/" + company.getId()))
+                    .header("Idempotent-Replayed", "true")
+                    .body(company);
+            case EXISTING -> ResponseEntity.ok(company);
+        };
+    }
+
+    // ========================================
+    // 7. 유틸리티 API들
     // ========================================
 
     /**
@@ -307,9 +481,35 @@ public class CompanyController {
                 📈 통계:
                 GET /api/companies/count - 전체 개수
                 GET /api/companies/count/status/{status} - 상태별 개수
+                POST /api/companies/status/{status}/intersect - ID 목록 중 해당 상태인 ID ([1,2,3])
                 GET /api/companies/exists?name=회사명 - 존재 여부 확인
 
+                ✏️ 변경:
+                POST /api/companies/status/bulk - 상태 일괄 전환 ({"ids":[1,2],"from":"ACTIVE","to":"SUSPENDED"})
+                POST /api/companies - 회사 등록 ({"name":"회사명"}, 같은 이름이면 기존 회사 200, Idempotency-Key 헤더 지원)
+
+                👥 소속 이력 (CompanyHistoryController):
+                GET /api/companies/{id}/members?date=2024-01-31 - 기준일 소속 사원
+                GET /api/companies/{id}/headcount?date=2024-01-31 - 기준일 인원 (&exact=true 면 이력에서 바로 계산)
+                GET /api/companies/{id}/headcount/daily?from=2024-01-01&to=2024-12-31 - 일별 인원 추이
+                GET /api/companies/{id}/membership-changes?from=2024-01-01&to=2024-03-31 - 기간 내 입사/퇴사
+                GET /api/companies/headcount?date=2024-01-31 - 기준일 회사별 인원
+
+                🧩 필드 선택:
+                목록/검색 API 에 ?fields=id,name 형식으로 필요한 필드만 요청 (예: /api/companies/all?fields=id,name)
+
                 💡 팁: 브라우저나 curl 명령어로 테스트 가능합니다!
                 """;
     }
+
+    /**
+     * fields 파라미터 해석 (알 수 없는 필드면 400)
+     */
+    private CompanyFieldSelection parseFields(String fields) {
+        try {
+            return CompanyFieldSelection.parse(fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,118 @@
+package com.qcheck.qcheck.controller;
+
+import com.qcheck.qcheck.dto.CompanyHeadcount;
+import com.qcheck.qcheck.dto.CompanyMembership;
+import com.qcheck.qcheck.dto.HeadcountSeries;
+import com.qcheck.qcheck.dto.MembershipChange;
+import com.qcheck.qcheck.service.CompanyHistoryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 회사 소속 이력 / 인원 조회 REST API
+ *
+ * 날짜 형식: yyyy-MM-dd (date 생략 시 오늘)
+ *
+ * API 엔드포인트 목록:
+ * - GET /api/companies/{id}/members?date= : 기준일 소속 사원
+ * - GET /api/companies/{id}/headcount?date=&exact=false : 기준일 인원 (exact=true 면 집계 대신 이력에서 바로 계산)
+ * - GET /api/companies/{id}/headcount/daily?from=&to= : 일별 인원 추이 (최대 3,660일)
+ * - GET /api/companies/{id}/membership-changes?from=&to= : 기간 내 입사/퇴사
+ * - GET /api/companies/headcount?date= : 기준일 회사별 인원
+ *
+ * 인원 조회는 일별 집계를 사용하지만, 집계가 한 번도 실행되지 않았으면(app.headcount-rollup.enabled=false 등)
+ * 0 명 대신 소속 이력(기간 인덱스)에서 바로 계산
+ *
+ * 테스트 방법:
+ * curl "http://localhost:8081/api/companies/1/headcount/daily?from=2024-01-01&to=2024-12-31"
+ */
+@RestController
+@RequestMapping("/api/companies")
+public class CompanyHistoryController {
+
+    @Autowired
+    private CompanyHistoryService historyService;
+
+    /**
+     * 기준일에 소속된 사원 목록
+     *
+     * @param id   회사 ID
+     * @param date 기준일 (생략 시 오늘)
+     * @return 사원별 소속 이력 (사원 일련번호 순)
+     */
+    @GetMapping("/{id}/members")
+    public List<CompanyMembership> getMembers(@PathVariable Long id,
+                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return historyService.membersOn(id, date != null ? date : LocalDate.now());
+    }
+
+    /**
+     * 기준일 인원
+     *
+     * @param id    회사 ID
+     * @param date  기준일 (생략 시 오늘)
+     * @param exact true 면 소속 이력에서 바로 계산 (기본은 일별 집계, 갱신 주기만큼 늦을 수 있음, 집계가 없으면 항상 이력)
+     * @return 기준일 인원
+     */
+    @GetMapping("/{id}/headcount")
+    public CompanyHeadcount getHeadcount(@PathVariable Long id,
+                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                         @RequestParam(defaultValue = "false") boolean exact) {
+        return historyService.headcountOn(id, date != null ? date : LocalDate.now(), exact);
+    }
+
+    /**
+     * 일별 인원 추이
+     *
+     * @param id   회사 ID
+     * @param from 시작일
+     * @param to   종료일 (포함)
+     * @return 날짜별 인원, 기간이 잘못되었거나 너무 길면 400
+     */
+    @GetMapping("/{id}/headcount/daily")
+    public HeadcountSeries getHeadcountSeries(@PathVariable Long id,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return historyService.headcountSeries(id, from, to);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * 기간 내 입사/퇴사 목록
+     *
+     * @param id   회사 ID
+     * @param from 시작일
+     * @param to   종료일 (포함)
+     * @return 날짜순 변경 목록 (퇴사는 마지막 소속일 기준), from 이 to 보다 늦으면 400
+     */
+    @GetMapping("/{id}/membership-changes")
+    public List<MembershipChange> getMembershipChanges(@PathVariable Long id,
+                                                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return historyService.membershipChanges(id, from, to);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * 기준일 회사별 인원 (인원이 있는 회사만, 일별 집계, 집계가 없으면 소속 이력)
+     *
+     * @param date 기준일 (생략 시 오늘)
+     * @return 회사 ID 순 인원 목록
+     */
+    @GetMapping("/headcount")
+    public List<CompanyHeadcount> getHeadcounts(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return historyService.headcountsOn(date != null ? date : LocalDate.now());
+    }
+}
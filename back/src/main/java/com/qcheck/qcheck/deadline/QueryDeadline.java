@@ -0,0 +1,103 @@
+package com.qcheck.qcheck.deadline;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 현재 요청(엔드포인트)의 쿼리 마감 시각
+ *
+ * 생성: QueryDeadlineAspect 가 CompanyController 메서드 진입 시 예산(budget)으로 생성
+ * 사용: QueryDeadlineDataSource 가 JDBC 실행 직전 남은 시간을 확인하고 취소 예약,
+ *       Hibernate 세션에는 남은 시간을 jakarta.persistence.query.timeout 으로 전달
+ *
+ * 상태:
+ * - RUNNING     : 정상 진행 중
+ * - UNAVAILABLE : 쿼리 시작 전에 예산 소진 (커넥션 풀 대기 등) → 503
+ * - CANCELLED   : 실행 중인 쿼리를 마감 시각에 취소함 → 504
+ */
+public final class QueryDeadline {
+
+    enum State { RUNNING, UNAVAILABLE, CANCELLED }
+
+    private static final ThreadLocal<QueryDeadline> CURRENT = new ThreadLocal<>();
+
+    private final String endpoint;
+
+    private final long budgetMillis;
+
+    private final long deadlineNanos;
+
+    /**
+     * 취소 스레드(QueryDeadlineDataSource 의 스케줄러)에서도 변경하므로 volatile
+     */
+    private volatile State state = State.RUNNING;
+
+    private QueryDeadline(String endpoint, long budgetMillis) {
+        this.endpoint = endpoint;
+        this.budgetMillis = budgetMillis;
+        this.deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+    }
+
+    public static QueryDeadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 다른 스레드에서 실행할 작업에 현재 마감 시각을 전달 (같은 예산을 공유, 샤드 작업 스레드 등)
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        QueryDeadline deadline = CURRENT.get();
+        return () -> {
+            QueryDeadline previous = CURRENT.get();
+            CURRENT.set(deadline);
+            try {
+                return task.call();
+            } finally {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    static QueryDeadline open(String endpoint, long budgetMillis) {
+        QueryDeadline deadline = new QueryDeadline(endpoint, budgetMillis);
+        CURRENT.set(deadline);
+        return deadline;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    public String endpoint() {
+        return endpoint;
+    }
+
+    public long budgetMillis() {
+        return budgetMillis;
+    }
+
+    /**
+     * 남은 시간 (밀리초, 음수면 이미 지남)
+     */
+    public long remainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+    }
+
+    public boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    State state() {
+        return state;
+    }
+
+    void markUnavailable() {
+        if (state == State.RUNNING) {
+            state = State.UNAVAILABLE;
+        }
+    }
+
+    void markCancelled() {
+        state = State.CANCELLED;
+    }
+}
@@ -0,0 +1,129 @@
+package com.qcheck.qcheck.deadline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CompanyController 엔드포인트별 쿼리 예산(deadline) 적용 Aspect
+ *
+ * 동작 방식:
+ * 1. 웹 요청으로 컨트롤러 메서드에 진입하면 메서드명으로 예산을 찾아 QueryDeadline 생성
+ *    (WarmupService 처럼 요청 밖에서 컨트롤러를 직접 호출하는 경우는 예산 없이 실행)
+ * 2. 이미 열려 있는 EntityManager(open-in-view)에 Hibernate 쿼리 타임아웃(jakarta.persistence.query.timeout) 설정
+ *    (새로 생성되는 EntityManager 는 QueryDeadlineConfiguration 의 초기화 콜백에서 설정)
+ * 3. JDBC 단계는 QueryDeadlineDataSource 가 처리 (취소 예약)
+ * 4. 예산 초과로 쿼리가 시작되지 못했거나 취소/타임아웃된 예외만 QueryDeadlineExceededException(503/504)으로 변환
+ *    (원인에 쿼리 타임아웃/취소(SQLState 57014)/커넥션 획득 실패가 없으면 마감 후라도 원래 예외 그대로)
+ *
+ * 설정 (application.properties, 밀리초, 0 이면 해당 엔드포인트는 예산 없음):
+ * - app.query-deadline.default-ms=5000 : 기본 예산
+ * - app.query-deadline.endpoints.{컨트롤러 메서드명}=2000 : 엔드포인트별 예산
+ *   예) app.query-deadline.endpoints.searchCompaniesIgnoreCase=1500
+ *       app.query-deadline.endpoints.getAllCompanies=3000
+ *
+ * 메트릭:
+ * - qcheck.query.deadline.exceeded (Counter, endpoint, outcome=unavailable|timeout) : 예산 초과로 실패한 요청 수
+ */
+@Slf4j
+@Aspect
+public class QueryDeadlineAspect {
+
+    static final String HIBERNATE_QUERY_TIMEOUT = "jakarta.persistence.query.timeout";
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.query-deadline.default-ms:5000}")
+    private long defaultBudgetMillis;
+
+    /**
+     * 메서드명 → 예산 (설정은 실행 중 바뀌지 않으므로 한 번만 조회)
+     */
+    private final Map<String, Long> budgets = new ConcurrentHashMap<>();
+
+    /**
+     * PostgreSQL query_canceled (Statement.cancel, statement_timeout, setQueryTimeout)
+     */
+    private static final String SQL_STATE_QUERY_CANCELED = "57014";
+
+    @Around("within(com.qcheck.qcheck.controller.CompanyController)")
+    public Object applyDeadline(ProceedingJoinPoint joinPoint) throws Throwable {
+        String endpoint = joinPoint.getSignature().getName();
+        long budget = budgets.computeIfAbsent(endpoint, name ->
+                environment.getProperty("app.query-deadline.endpoints." + name, Long.class, defaultBudgetMillis));
+        // 웹 요청 밖의 직접 호출, 예산 없음, 또는 이미 바깥 엔드포인트의 예산 안에서 호출됨
+        if (RequestContextHolder.getRequestAttributes() == null || budget <= 0 || QueryDeadline.current() != null) {
+            return joinPoint.proceed();
+        }
+
+        QueryDeadline deadline = QueryDeadline.open(endpoint, budget);
+        try {
+            EntityManagerHolder holder =
+                    (EntityManagerHolder) TransactionSynchronizationManager.getResource(entityManagerFactory);
+            if (holder != null) {
+                holder.getEntityManager().setProperty(HIBERNATE_QUERY_TIMEOUT, (int) Math.max(1, deadline.remainingMillis()));
+            }
+            return joinPoint.proceed();
+        } catch (RuntimeException e) {
+            if ((deadline.state() == QueryDeadline.State.RUNNING && !deadline.isExpired()) || !isDeadlineFailure(e)) {
+                throw e;
+            }
+            boolean unavailable = deadline.state() == QueryDeadline.State.UNAVAILABLE;
+            Counter.builder("qcheck.query.deadline.exceeded")
+                    .description("엔드포인트 쿼리 예산 초과로 실패한 요청 수")
+                    .tag("endpoint", endpoint)
+                    .tag("outcome", unavailable ? "unavailable" : "timeout")
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("⏱️ 쿼리 예산 초과 - endpoint: {}, 예산: {} ms, 결과: {}", endpoint, budget,
+                    unavailable ? "503" : "504");
+            throw new QueryDeadlineExceededException(deadline, unavailable, e);
+        } finally {
+            QueryDeadline.clear();
+        }
+    }
+
+    /**
+     * 예산 때문에 실패한 예외인지 (원인 체인에 쿼리 타임아웃/취소 또는 커넥션 획득 실패가 있는지)
+     */
+    private static boolean isDeadlineFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof QueryTimeoutException
+                    || cause instanceof jakarta.persistence.QueryTimeoutException
+                    || cause instanceof org.hibernate.QueryTimeoutException
+                    || cause instanceof SQLTimeoutException
+                    || cause instanceof SQLTransientConnectionException
+                    || (cause instanceof SQLException sql && SQL_STATE_QUERY_CANCELED.equals(sql.getSQLState()))) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+}
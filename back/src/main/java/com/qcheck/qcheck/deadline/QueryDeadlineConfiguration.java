@@ -0,0 +1,60 @@
+package com.qcheck.qcheck.deadline;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+import javax.sql.DataSource;
+
+/**
+ * 엔드포인트별 쿼리 예산 설정
+ *
+ * - DataSource 빈을 QueryDeadlineDataSource 로 감싸 JDBC 실행에 마감 시각 적용
+ * - EntityManager 생성 시 현재 예산의 남은 시간을 Hibernate 쿼리 타임아웃으로 설정
+ * - CompanyController 에 QueryDeadlineAspect 적용
+ * 비활성화: app.query-deadline.enabled=false
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.query-deadline.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryDeadlineConfiguration {
+
+    /**
+     * BeanPostProcessor 는 다른 빈보다 먼저 생성되므로 static 메서드 + ObjectProvider 로 지연 조회
+     */
+    @Bean
+    public static BeanPostProcessor queryDeadlinePostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                // open-in-view 가 꺼져 있으면 EntityManager 는 리포지토리 트랜잭션 시작 시 (예산이 열린 뒤) 생성됨
+                if (bean instanceof AbstractEntityManagerFactoryBean factoryBean) {
+                    factoryBean.setEntityManagerInitializer(entityManager -> {
+                        QueryDeadline deadline = QueryDeadline.current();
+                        if (deadline != null) {
+                            entityManager.setProperty(QueryDeadlineAspect.HIBERNATE_QUERY_TIMEOUT,
+                                    (int) Math.max(1, deadline.remainingMillis()));
+                        }
+                    });
+                }
+                return bean;
+            }
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof QueryDeadlineDataSource)) {
+                    return new QueryDeadlineDataSource(dataSource, meterRegistry);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public QueryDeadlineAspect queryDeadlineAspect() {
+        return new QueryDeadlineAspect();
+    }
+}
@@ -0,0 +1,165 @@
+package com.qcheck.qcheck.deadline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 쿼리 마감 시각(QueryDeadline)을 JDBC 까지 전달하는 DataSource 래퍼
+ *
+ * 동작 방식:
+ * - 마감 시각이 없는 커넥션 요청(워밍업, 감사 기록 스레드, 비트맵 적재 등)은 원본 커넥션 그대로 반환 → 오버헤드 없음
+ * - 커넥션 획득 후 이미 예산이 소진되었으면(풀 대기) 커넥션을 바로 반납하고 실패 → 503
+ * - Statement execute* 직전:
+ *   1) 남은 시간이 없으면 실행하지 않고 실패 → 503
+ *   2) setQueryTimeout(남은 시간, 초 단위 올림) : 드라이버 자체 타이머 (초 단위라 백업 용도)
+ *   3) 남은 시간(밀리초) 뒤에 Statement.cancel() 예약 : PostgreSQL 에 CancelRequest 를 보내 서버에서 실행 중인 쿼리 중단 → 504
+ *   4) 실행이 끝나면 예약 취소
+ *
+ * 메트릭:
+ * - qcheck.query.deadline.cancelled (Counter, endpoint) : 마감 시각에 취소한 쿼리 수
+ */
+@Slf4j
+public class QueryDeadlineDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private final ScheduledThreadPoolExecutor canceller;
+
+    public QueryDeadlineDataSource(DataSource target, ObjectProvider<MeterRegistry> meterRegistry) {
+        super(target);
+        this.meterRegistry = meterRegistry;
+        this.canceller = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "query-deadline-canceller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 대부분의 쿼리는 마감 전에 끝나므로 취소된 예약은 큐에서 바로 제거
+        this.canceller.setRemoveOnCancelPolicy(true);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        QueryDeadline deadline = QueryDeadline.current();
+        return deadline == null ? super.getConnection() : checkAcquired(super.getConnection(), deadline);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        QueryDeadline deadline = QueryDeadline.current();
+        return deadline == null
+                ? super.getConnection(username, password)
+                : checkAcquired(super.getConnection(username, password), deadline);
+    }
+
+    /**
+     * 스케줄러 종료 후 원본 DataSource 도 닫음 (Spring 의 destroy 메서드 추론이 래퍼의 close 를 호출)
+     */
+    @Override
+    public void close() {
+        canceller.shutdownNow();
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                throw new IllegalStateException("DataSource 종료 실패", e);
+            }
+        }
+    }
+
+    private Connection checkAcquired(Connection connection, QueryDeadline deadline) throws SQLException {
+        if (deadline.isExpired()) {
+            connection.close();
+            deadline.markUnavailable();
+            throw new SQLTransientConnectionException("커넥션 획득 중 쿼리 예산 소진: " + deadline.endpoint());
+        }
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    String name = method.getName();
+                    if (result instanceof Statement statement
+                            && (name.equals("createStatement") || name.equals("prepareStatement") || name.equals("prepareCall"))) {
+                        return wrap(statement);
+                    }
+                    return result;
+                });
+    }
+
+    private Statement wrap(Statement statement) {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+        return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    QueryDeadline deadline = QueryDeadline.current();
+                    if (deadline == null || !method.getName().startsWith("execute")) {
+                        return invoke(statement, method, args);
+                    }
+                    return execute(statement, method, args, deadline);
+                });
+    }
+
+    private Object execute(Statement statement, Method method, Object[] args, QueryDeadline deadline) throws Throwable {
+        long remaining = deadline.remainingMillis();
+        if (remaining <= 0) {
+            deadline.markUnavailable();
+            throw new SQLTimeoutException("쿼리 시작 전 예산 소진: " + deadline.endpoint());
+        }
+
+        int seconds = (int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(remaining + 999));
+        int current = statement.getQueryTimeout();
+        if (current == 0 || current > seconds) {
+            statement.setQueryTimeout(seconds);
+        }
+
+        ScheduledFuture<?> cancellation = canceller.schedule(() -> cancel(statement, deadline), remaining, TimeUnit.MILLISECONDS);
+        try {
+            return invoke(statement, method, args);
+        } finally {
+            cancellation.cancel(false);
+        }
+    }
+
+    /**
+     * 실행 중인 쿼리 취소 (PgJDBC 는 실행 중이 아닌 Statement 의 cancel 을 무시함)
+     */
+    private void cancel(Statement statement, QueryDeadline deadline) {
+        try {
+            deadline.markCancelled();
+            statement.cancel();
+            Counter.builder("qcheck.query.deadline.cancelled")
+                    .description("엔드포인트 쿼리 예산 초과로 취소한 쿼리 수")
+                    .tag("endpoint", deadline.endpoint())
+                    .register(meterRegistry.getObject())
+                    .increment();
+            log.warn("⏱️ 쿼리 취소 - endpoint: {}, 예산: {} ms", deadline.endpoint(), deadline.budgetMillis());
+        } catch (SQLException e) {
+            log.warn("쿼리 취소 실패 - endpoint: {}: {}", deadline.endpoint(), e.getMessage());
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
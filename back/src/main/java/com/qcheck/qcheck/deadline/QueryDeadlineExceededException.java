@@ -0,0 +1,51 @@
+package com.qcheck.qcheck.deadline;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.net.URI;
+
+/**
+ * 엔드포인트 쿼리 예산 초과 응답
+ *
+ * - 503 SERVICE_UNAVAILABLE : 쿼리를 시작하기 전에 예산 소진 (커넥션 풀 포화 등), Retry-After: 1
+ * - 504 GATEWAY_TIMEOUT     : 실행 중인 쿼리를 마감 시각에 취소함
+ *
+ * 응답 본문(ProblemDetail)의 type 으로 두 경우를 구분하고, endpoint / budgetMs 속성을 함께 전달
+ */
+public class QueryDeadlineExceededException extends ResponseStatusException {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final URI TYPE_UNAVAILABLE = URI.create("urn:qcheck:query-deadline:unavailable");
+
+    public static final URI TYPE_TIMEOUT = URI.create("urn:qcheck:query-deadline:timeout");
+
+    private final boolean unavailable;
+
+    QueryDeadlineExceededException(QueryDeadline deadline, boolean unavailable, Throwable cause) {
+        super(unavailable ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.GATEWAY_TIMEOUT,
+                (unavailable ? "쿼리 시작 전 예산 소진: " : "쿼리 예산 초과로 취소됨: ")
+                        + deadline.endpoint() + " (" + deadline.budgetMillis() + " ms)",
+                cause);
+        this.unavailable = unavailable;
+        setType(unavailable ? TYPE_UNAVAILABLE : TYPE_TIMEOUT);
+        getBody().setProperty("endpoint", deadline.endpoint());
+        getBody().setProperty("budgetMs", deadline.budgetMillis());
+    }
+
+    public boolean isUnavailable() {
+        return unavailable;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        if (!unavailable) {
+            return HttpHeaders.EMPTY;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        return headers;
+    }
+}
@@ -0,0 +1,24 @@
+package com.qcheck.qcheck.dto;
+
+import com.qcheck.qcheck.entity.CompanyStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * 일괄 상태 전환 요청
+ *
+ * 예시 (JSON):
+ * { "ids": [1, 2, 3], "from": "ACTIVE", "to": "SUSPENDED" }
+ *
+ * @param ids  전환할 회사 ID 목록 (최대 100,000개, 중복은 무시)
+ * @param from 현재 상태 (이 상태인 회사만 전환)
+ * @param to   전환할 상태
+ */
+public record BulkStatusTransitionRequest(
+        @NotEmpty @Size(max = 100_000) List<@NotNull Long> ids,
+        @NotNull CompanyStatus from,
+        @NotNull CompanyStatus to) {
+}
@@ -0,0 +1,37 @@
+package com.qcheck.qcheck.dto;
+
+import com.qcheck.qcheck.entity.CompanyStatus;
+
+import java.util.List;
+
+/**
+ * 일괄 상태 전환 결과
+ *
+ * @param from      요청한 현재 상태
+ * @param to        전환한 상태
+ * @param requested 요청된 고유 ID 수
+ * @param updated   실제 전환된 수
+ * @param results   ID 별 결과
+ */
+public record BulkStatusTransitionResult(CompanyStatus from, CompanyStatus to, int requested, int updated,
+                                         List<Item> results) {
+
+    /**
+     * ID 별 전환 결과
+     *
+     * - UPDATED: 전환 완료
+     * - STATUS_MISMATCH: 회사는 있으나 현재 상태가 from 과 다름 (currentStatus 로 실제 상태 반환)
+     * - NOT_FOUND: 해당 ID 의 회사 없음
+     */
+    public enum Outcome {
+        UPDATED, STATUS_MISMATCH, NOT_FOUND
+    }
+
+    /**
+     * @param id            회사 ID
+     * @param outcome       전환 결과
+     * @param currentStatus 처리 후 상태 (NOT_FOUND 이면 null)
+     */
+    public record Item(Long id, Outcome outcome, CompanyStatus currentStatus) {
+    }
+}
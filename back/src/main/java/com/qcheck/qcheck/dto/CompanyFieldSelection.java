@@ -0,0 +1,57 @@
+package com.qcheck.qcheck.dto;
+
+import com.qcheck.qcheck.entity.Company;
+import jakarta.persistence.Column;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 응답에 포함할 Company 필드 목록 (fields= 요청 파라미터)
+ *
+ * 예시: fields=id,name → SELECT c.id, c.name FROM company c ... 로 필요한 컬럼만 조회/직렬화
+ *
+ * 선택 가능한 필드: Company 의 @Column 매핑 필드 전체 (엔터티에 컬럼이 추가되면 자동으로 포함)
+ * 순서는 요청 순서를 따르고 중복은 무시
+ *
+ * @param names 엔터티 필드명 목록 (1개 이상)
+ */
+public record CompanyFieldSelection(List<String> names) {
+
+    public static final List<String> SELECTABLE = selectableFields();
+
+    /**
+     * @throws IllegalArgumentException 비어 있거나 알 수 없는 필드가 있으면
+     */
+    public static CompanyFieldSelection parse(String fields) {
+        Set<String> names = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!SELECTABLE.contains(name)) {
+                throw new IllegalArgumentException("알 수 없는 필드: " + name + " (선택 가능: " + String.join(",", SELECTABLE) + ")");
+            }
+            names.add(name);
+        }
+        if (names.isEmpty()) {
+            throw new IllegalArgumentException("fields 가 비어 있음 (선택 가능: " + String.join(",", SELECTABLE) + ")");
+        }
+        return new CompanyFieldSelection(List.copyOf(names));
+    }
+
+    private static List<String> selectableFields() {
+        List<String> names = new ArrayList<>();
+        for (Field field : Company.class.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) && field.isAnnotationPresent(Column.class)) {
+                names.add(field.getName());
+            }
+        }
+        return List.copyOf(names);
+    }
+}
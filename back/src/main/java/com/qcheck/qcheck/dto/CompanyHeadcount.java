@@ -0,0 +1,13 @@
+package com.qcheck.qcheck.dto;
+
+import java.time.LocalDate;
+
+/**
+ * 기준일의 회사 인원
+ *
+ * @param companyId 회사 ID
+ * @param date      기준일
+ * @param headcount 기준일에 소속된 인원
+ */
+public record CompanyHeadcount(Long companyId, LocalDate date, int headcount) {
+}
@@ -0,0 +1,13 @@
+package com.qcheck.qcheck.dto;
+
+import java.time.LocalDate;
+
+/**
+ * 회사 소속 이력 1건 (company_emp_hist)
+ *
+ * @param empSeq    사원 일련번호
+ * @param startDate 소속 시작일
+ * @param endDate   소속 종료일 (마지막 소속일, null 이면 현재 소속 중)
+ */
+public record CompanyMembership(Long empSeq, LocalDate startDate, LocalDate endDate) {
+}
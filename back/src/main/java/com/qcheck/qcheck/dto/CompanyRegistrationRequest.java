@@ -0,0 +1,19 @@
+package com.qcheck.qcheck.dto;
+
+import com.qcheck.qcheck.entity.CompanyStatus;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * 회사 등록 요청
+ *
+ * 예시 (JSON):
+ * { "name": "Tech Corp", "status": "ACTIVE" }
+ *
+ * @param name   회사명 (최대 100자, 앞뒤 공백/대소문자/연속 공백이 달라도 같은 이름으로 취급)
+ * @param status 초기 상태 (생략 시 ACTIVE)
+ */
+public record CompanyRegistrationRequest(
+        @NotBlank @Size(max = 100) String name,
+        CompanyStatus status) {
+}
@@ -0,0 +1,20 @@
+package com.qcheck.qcheck.dto;
+
+import com.qcheck.qcheck.entity.Company;
+
+/**
+ * 회사 등록 결과
+ *
+ * - CREATED: 새로 등록됨
+ * - REPLAYED: 같은 Idempotency-Key 로 이미 등록된 요청의 재전송 (처음 등록한 회사 반환)
+ * - EXISTING: 같은 이름의 회사가 이미 있음 (기존 회사 반환)
+ *
+ * @param outcome 등록 결과
+ * @param company 등록되었거나 이미 있던 회사
+ */
+public record CompanyRegistrationResult(Outcome outcome, Company company) {
+
+    public enum Outcome {
+        CREATED, REPLAYED, EXISTING
+    }
+}
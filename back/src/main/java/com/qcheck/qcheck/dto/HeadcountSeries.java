@@ -0,0 +1,22 @@
+package com.qcheck.qcheck.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 회사의 일별 인원 추이
+ *
+ * @param companyId 회사 ID
+ * @param from      시작일
+ * @param to        종료일 (포함)
+ * @param points    from ~ to 의 날짜별 인원 (하루 1개)
+ */
+public record HeadcountSeries(Long companyId, LocalDate from, LocalDate to, List<Point> points) {
+
+    /**
+     * @param date      날짜
+     * @param headcount 그날 기준 인원
+     */
+    public record Point(LocalDate date, int headcount) {
+    }
+}
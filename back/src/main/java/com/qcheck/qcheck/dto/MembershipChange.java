@@ -0,0 +1,20 @@
+package com.qcheck.qcheck.dto;
+
+import java.time.LocalDate;
+
+/**
+ * 소속 변경 1건
+ *
+ * - JOINED: date 에 소속 시작 (start_date)
+ * - LEFT: date 가 마지막 소속일 (end_date)
+ *
+ * @param empSeq 사원 일련번호
+ * @param date   변경일
+ * @param type   변경 종류
+ */
+public record MembershipChange(Long empSeq, LocalDate date, Type type) {
+
+    public enum Type {
+        JOINED, LEFT
+    }
+}
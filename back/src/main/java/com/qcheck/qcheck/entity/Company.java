@@ -1,7 +1,11 @@
 package com.qcheck.qcheck.entity;
 
+import com.qcheck.qcheck.audit.CompanyAuditListener;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.OffsetDateTime;
 
 /**
  * 고객사 엔터티 클래스
@@ -14,6 +18,13 @@ import lombok.*;
  * - id: 고유 식별자 (기본키, 자동 증가)
  * - name: 고객사명 (필수, 최대 100자)
  * - status: 고객사 상태 (ACTIVE, INACTIVE, SUSPENDED)
+ * - version: 낙관적 잠금 버전 (수정 시마다 1 증가)
+ * - createdAt / createdEp / updatedAt / updatedEp: 생성·수정 시각과 주체 (CompanyAuditListener 가 설정)
+ *
+ * 파티셔닝 (V2 마이그레이션):
+ * - company 테이블은 status 기준 LIST 파티션 (company_active / company_inactive / company_suspended)
+ * - DB 기본키는 (id, status) 이지만 id 는 시퀀스로만 발급되므로 엔터티는 id 단일 식별자로 매핑
+ * - status 변경 시 PostgreSQL 이 행을 해당 파티션으로 자동 이동
  *
  * JPA 어노테이션 설명:
  * - @Entity: JPA 엔터티임을 선언
@@ -33,6 +44,7 @@ import lombok.*;
  */
 @Entity
 @Table(name = "company")
+@EntityListeners(CompanyAuditListener.class)
 @Getter
 @Setter
 @Builder
@@ -94,6 +106,61 @@ public class Company {
     @Column(name = "status", nullable = false, length = 20)
     private CompanyStatus status;
 
+    /**
+     * 낙관적 잠금(optimistic locking) 버전
+     *
+     * 자료형: Long
+     * 데이터베이스: BIGINT NOT NULL DEFAULT 0
+     *
+     * JPA 설정:
+     * - @Version: 엔터티 수정 시 Hibernate 가 자동으로 1 증가, 동시 수정 충돌 감지
+     * - 일괄 상태 전환(CompanyStatusTransitionService)도 같은 UPDATE 문에서 1 증가
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    /**
+     * 생성 시각
+     *
+     * 자료형: OffsetDateTime
+     * 데이터베이스: TIMESTAMP WITH TIME ZONE
+     * 설정 시점: 최초 저장 시 CompanyAuditListener 가 현재 시각 입력, 이후 변경 불가
+     */
+    @Column(name = "created_at", updatable = false)
+    private OffsetDateTime createdAt;
+
+    /**
+     * 생성자 (emp_id 또는 SYSTEM)
+     *
+     * 자료형: String
+     * 데이터베이스: VARCHAR(50)
+     * 설정 시점: 최초 저장 시 CompanyAuditListener 가 요청의 변경 주체 입력, 이후 변경 불가
+     */
+    @Column(name = "created_ep", updatable = false, length = 50)
+    private String createdEp;
+
+    /**
+     * 수정 시각
+     *
+     * 자료형: OffsetDateTime
+     * 데이터베이스: TIMESTAMP WITH TIME ZONE (최초 NULL)
+     * 설정 시점: 수정 시 CompanyAuditListener 가 현재 시각 입력 (DB 트리거 미사용)
+     */
+    @Column(name = "updated_at")
+    private OffsetDateTime updatedAt;
+
+    /**
+     * 수정자 (emp_id 또는 SYSTEM)
+     *
+     * 자료형: String
+     * 데이터베이스: VARCHAR(50) (최초 NULL)
+     * 설정 시점: 수정 시 CompanyAuditListener 가 요청의 변경 주체 입력
+     */
+    @Column(name = "updated_ep", length = 50)
+    private String updatedEp;
+
     /**
      * 객체의 문자열 표현 반환
      *
@@ -34,5 +34,28 @@ public enum CompanyStatus {
      * - 임시적으로 서비스가 중단된 상태
      * - 관리자 판단에 의한 일시적 제한
      */
-    SUSPENDED
+    SUSPENDED;
+
+    /**
+     * 상태 전환 허용 여부
+     *
+     * 허용 전환:
+     * - ACTIVE → INACTIVE, SUSPENDED
+     * - SUSPENDED → ACTIVE, INACTIVE
+     * - INACTIVE → ACTIVE
+     *
+     * 불허 전환:
+     * - 같은 상태로의 전환 (변경 없음)
+     * - INACTIVE → SUSPENDED (서비스 이용이 이미 중단된 회사는 일시중단 대상이 아님)
+     *
+     * @param target 전환할 상태
+     * @return 허용되면 true
+     */
+    public boolean canTransitionTo(CompanyStatus target) {
+        return switch (this) {
+            case ACTIVE -> target == INACTIVE || target == SUSPENDED;
+            case SUSPENDED -> target == ACTIVE || target == INACTIVE;
+            case INACTIVE -> target == ACTIVE;
+        };
+    }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.qcheck.qcheck.event;
+
+import com.qcheck.qcheck.entity.CompanyStatus;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 회사 변경 이벤트
+ *
+ * 발행: CompanyAuditListener (JPA 저장/수정/삭제), CompanyRegistrationService (멱등 등록)
+ *       (일괄 상태 전환은 CompanyStatusBulkChangedEvent 1건으로 묶어 발행)
+ * 구독: @TransactionalEventListener 로 커밋 후에만 처리 (롤백된 변경은 전달되지 않음)
+ * - AuditWriter: 감사 로그 큐에 추가
+ * - CompanyStatusBitmapIndex: 상태별 비트맵 갱신
+ * - CompanyResponseCache: 영향받는 응답 캐시 항목 무효화
+ *
+ * @param companyId 변경된 회사 ID
+ * @param action    INSERT / UPDATE / DELETE
+ * @param name      변경 후 회사명
+ * @param status    변경 후 상태
+ * @param previousStatus 변경 전 상태 (INSERT 는 null, JPA 단건 UPDATE 처럼 알 수 없으면 null)
+ * @param actor     변경 주체 (emp_id 또는 SYSTEM)
+ * @param changedAt 변경 시각
+ */
+public record CompanyChangedEvent(Long companyId, String action, String name, CompanyStatus status,
+                                  CompanyStatus previousStatus, String actor, OffsetDateTime changedAt) {
+
+    public boolean isDelete() {
+        return "DELETE".equals(action);
+    }
+
+    /**
+     * 변경 전 상태를 알 수 없는 수정인지 (이 경우 구독자는 모든 상태가 영향받았다고 간주)
+     */
+    public boolean isPreviousStatusUnknown() {
+        return "UPDATE".equals(action) && previousStatus == null;
+    }
+}
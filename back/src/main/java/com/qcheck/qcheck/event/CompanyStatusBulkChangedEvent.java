@@ -0,0 +1,29 @@
+package com.qcheck.qcheck.event;
+
+import com.qcheck.qcheck.entity.CompanyStatus;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * 회사 상태 일괄 전환 이벤트 (전환 1회당 1건)
+ *
+ * 목적: 일괄 전환된 행마다 CompanyChangedEvent 를 발행하면 10만 건 전환 시 커밋 후 콜백도 10만 × 구독자 수만큼 실행됨
+ *       → 전환된 ID 목록을 한 이벤트로 묶어 구독자가 한 번에 처리
+ *
+ * 발행: CompanyStatusTransitionService (전환된 행이 있을 때만)
+ * 구독: @TransactionalEventListener 로 커밋 후에만 처리
+ * - AuditWriter: 전환된 회사마다 UPDATE 감사 항목을 한 번에 큐에 추가
+ * - CompanyStatusBitmapIndex: 쓰기 잠금 1회로 from 비트맵에서 빼고 to 비트맵에 추가
+ * - CompanyResponseCache: 전체 범위와 from / to 상태 범위 항목을 한 번에 무효화
+ *
+ * @param companyIds 전환된 회사 ID 목록
+ * @param names      전환된 회사명 (companyIds 와 같은 순서)
+ * @param from       변경 전 상태
+ * @param to         변경 후 상태
+ * @param actor      변경 주체 (emp_id 또는 SYSTEM)
+ * @param changedAt  변경 시각
+ */
+public record CompanyStatusBulkChangedEvent(List<Long> companyIds, List<String> names, CompanyStatus from,
+                                            CompanyStatus to, String actor, OffsetDateTime changedAt) {
+}
@@ -0,0 +1,225 @@
+package com.qcheck.qcheck.history;
+
+import com.qcheck.qcheck.sharding.ShardExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회사별 일별 인원 집계(company_headcount_daily, V7) 갱신
+ *
+ * 목적: 대시보드의 "X 일 기준 인원", "기간별 인원 추이" 를 몇 년치 소속 이력 스캔 없이
+ *       인원이 바뀐 날만 저장한 집계 행에서 바로 조회 (CompanyHistoryService)
+ *
+ * 집계 방식 (SQL 1문장):
+ * - 이력 1건을 (시작일, +1) / (종료일 다음 날, -1) 두 변경으로 펼쳐 회사/날짜별로 합산
+ * - SUM() OVER (PARTITION BY company_seq ORDER BY day) 로 그날 기준 인원(누적합) 계산
+ *
+ * 주기:
+ * - interval-ms 마다 증분: 마지막 집계 이후 추가/수정된 이력(COALESCE(updated_at, created_at))이 있는
+ *   회사만 집계 행을 지우고 다시 계산 (회사 단위 재계산이므로 종료일 수정도 그대로 반영)
+ * - full-rebuild-interval-ms 마다 전체 재계산 (삭제된 이력이나 overlap 을 넘겨 늦게 커밋된 이력 반영)
+ * - 집계 상태가 없으면(최초) 전체 재계산
+ *
+ * created_at 은 INSERT 트랜잭션 시작 시각이라 커밋이 늦으면 기준 시각보다 앞설 수 있으므로
+ * overlap-ms 만큼 겹쳐서 다시 읽음 (같은 회사를 다시 계산해도 결과는 같음)
+ *
+ * 여러 인스턴스가 함께 떠 있어도 트랜잭션 범위 advisory lock 으로 한 곳에서만 갱신하고,
+ * 갱신(삭제 + 재삽입)은 한 트랜잭션이라 조회 쪽은 갱신 전 또는 후의 집계만 봄
+ *
+ * 샤딩 사용 시 이력/집계/집계 상태가 모두 회사와 같은 샤드에 있으므로 샤드마다 같은 갱신을 병렬 실행
+ * (잠금과 집계 상태도 샤드별)
+ *
+ * 설정 (application.properties):
+ * - app.headcount-rollup.enabled=false : 사용 여부 (집계 테이블(V7)이 있는 DB 에서 집계를 맡을 인스턴스만 true)
+ * - app.headcount-rollup.interval-ms=60000
+ * - app.headcount-rollup.overlap-ms=300000
+ * - app.headcount-rollup.full-rebuild-interval-ms=86400000
+ *
+ * 메트릭: qcheck.headcount-rollup.refresh (Timer, mode=full|incremental)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.headcount-rollup.enabled", havingValue = "true")
+public class CompanyHeadcountRollup {
+
+    private static final String LOCK_SQL = "SELECT pg_try_advisory_xact_lock(hashtext('company_headcount_rollup'))";
+
+    private static final String STATE_SQL = "SELECT refreshed_to FROM company_headcount_rollup_state WHERE id = 1";
+
+    private static final String SAVE_STATE_SQL = """
+            INSERT INTO company_headcount_rollup_state (id, refreshed_to) VALUES (1, now())
+            ON CONFLICT (id) DO UPDATE SET refreshed_to = EXCLUDED.refreshed_to
+            """;
+
+    private static final String TOUCHED_SQL = """
+            SELECT DISTINCT company_seq FROM company_emp_hist
+            WHERE COALESCE(updated_at, created_at) >= ?
+            """;
+
+    private static final String DELETE_SQL = "DELETE FROM company_headcount_daily WHERE company_seq = ANY(?)";
+
+    /**
+     * %s: 대상 회사 조건 (전체 재계산이면 빈 문자열)
+     */
+    private static final String ROLLUP_SQL = """
+            INSERT INTO company_headcount_daily (company_seq, day, joined_count, left_count, headcount)
+            SELECT company_seq, day, joined_count, left_count,
+                   SUM(joined_count - left_count) OVER (PARTITION BY company_seq ORDER BY day)
+            FROM (
+                SELECT h.company_seq, e.day, SUM(e.joined) AS joined_count, SUM(e.left_count) AS left_count
+                FROM company_emp_hist h
+                CROSS JOIN LATERAL (VALUES (lower(h.period), 1, 0), (upper(h.period), 0, 1)) AS e (day, joined, left_count)
+                WHERE e.day IS NOT NULL %s
+                GROUP BY h.company_seq, e.day
+            ) changes
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired(required = false)
+    private ShardExecutor shardExecutor;
+
+    @Value("${app.headcount-rollup.interval-ms:60000}")
+    private long intervalMillis;
+
+    @Value("${app.headcount-rollup.overlap-ms:300000}")
+    private long overlapMillis;
+
+    @Value("${app.headcount-rollup.full-rebuild-interval-ms:86400000}")
+    private long fullRebuildIntervalMillis;
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * 기동 완료 후 증분/전체 갱신 주기 시작 (첫 증분은 바로 실행, 집계가 없으면 전체 재계산)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRefresh() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "company-headcount-rollup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> refreshQuietly(false), 0, intervalMillis, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(() -> refreshQuietly(true), fullRebuildIntervalMillis, fullRebuildIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stopRefresh() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 집계 갱신
+     *
+     * @param full true 면 전체 재계산, false 면 마지막 집계 이후 변경된 회사만 (집계 상태가 없으면 전체)
+     * @return 다시 계산한 회사 수 (전체 재계산이면 -1, 다른 인스턴스가 갱신 중이라 건너뛰면 null)
+     */
+    public synchronized Integer refresh(boolean full) {
+        long start = System.nanoTime();
+        Integer companies = shardExecutor == null
+                ? refreshShard(full)
+                : combine(shardExecutor.callAll(() -> refreshShard(full)));
+        if (companies == null) {
+            log.debug("일별 인원 집계 건너뜀 (다른 인스턴스가 갱신 중)");
+            return null;
+        }
+        long elapsed = System.nanoTime() - start;
+        boolean fullRun = companies < 0;
+        meterRegistry.timer("qcheck.headcount-rollup.refresh", "mode", fullRun ? "full" : "incremental")
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        if (fullRun) {
+            log.info("📊 일별 인원 집계 전체 재계산 완료 - {} ms", TimeUnit.NANOSECONDS.toMillis(elapsed));
+        } else if (companies > 0) {
+            log.debug("일별 인원 집계 증분 갱신 - 회사 {} 곳, {} ms", companies, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+        return companies;
+    }
+
+    /**
+     * 현재 샤드(샤딩 비활성화 시 기본 DB)의 집계 갱신
+     */
+    private Integer refreshShard(boolean full) {
+        return transactionTemplate.execute(status -> {
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(LOCK_SQL, Boolean.class))) {
+                return null;
+            }
+            List<OffsetDateTime> state = jdbcTemplate.queryForList(STATE_SQL, OffsetDateTime.class);
+            int touched = -1;
+            if (full || state.isEmpty()) {
+                // TRUNCATE 는 조회까지 막는 잠금을 잡으므로 DELETE (조회는 커밋 전까지 이전 집계를 봄)
+                jdbcTemplate.update("DELETE FROM company_headcount_daily");
+                jdbcTemplate.update(ROLLUP_SQL.formatted(""));
+            } else {
+                OffsetDateTime since = state.get(0).minus(overlapMillis, ChronoUnit.MILLIS);
+                List<Long> ids = jdbcTemplate.queryForList(TOUCHED_SQL, Long.class, since);
+                if (!ids.isEmpty()) {
+                    Long[] companySeqs = ids.toArray(new Long[0]);
+                    jdbcTemplate.update(connection -> {
+                        var stmt = connection.prepareStatement(DELETE_SQL);
+                        stmt.setArray(1, connection.createArrayOf("bigint", companySeqs));
+                        return stmt;
+                    });
+                    jdbcTemplate.update(connection -> {
+                        var stmt = connection.prepareStatement(ROLLUP_SQL.formatted("AND h.company_seq = ANY(?)"));
+                        stmt.setArray(1, connection.createArrayOf("bigint", companySeqs));
+                        return stmt;
+                    });
+                }
+                touched = ids.size();
+            }
+            jdbcTemplate.update(SAVE_STATE_SQL);
+            return touched;
+        });
+    }
+
+    /**
+     * 샤드별 결과 합산 (한 샤드라도 전체 재계산이면 -1, 모든 샤드를 건너뛰었으면 null)
+     */
+    private static Integer combine(List<Integer> perShard) {
+        Integer total = null;
+        for (Integer touched : perShard) {
+            if (touched != null && touched < 0) {
+                return -1;
+            }
+            if (touched != null) {
+                total = (total == null ? 0 : total) + touched;
+            }
+        }
+        return total;
+    }
+
+    private void refreshQuietly(boolean full) {
+        try {
+            refresh(full);
+        } catch (RuntimeException e) {
+            log.warn("일별 인원 집계 갱신 실패 (다음 주기에 재시도): {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,434 @@
+package com.qcheck.qcheck.index;
+
+import com.qcheck.qcheck.entity.CompanyStatus;
+import com.qcheck.qcheck.event.CompanyChangedEvent;
+import com.qcheck.qcheck.event.CompanyStatusBulkChangedEvent;
+import com.qcheck.qcheck.sharding.ShardExecutor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 회사 상태별 압축 비트맵(Roaring Bitmap) 인덱스
+ *
+ * 목적: CompanyStatus 는 값이 3개뿐이므로 상태별 회사 ID 집합을 메모리의 압축 비트맵으로 유지하고,
+ *       상태별 개수와 다른 ID 집합(검색 결과, 소속 회사 집합 등)과의 교집합을 DB 왕복 없이 비트 연산으로 처리
+ *
+ * 구성:
+ * - 상태마다 RoaringBitmap 1개 (1천만 건 기준 상태별 수 MB 이내)
+ * - 기동 후 백그라운드 스레드가 company 테이블의 (id, status) 를 한 번 적재
+ * - 이후 CompanyChangedEvent (커밋 후) 로 증분 갱신
+ *   (일괄 상태 전환은 CompanyStatusBulkChangedEvent 1건을 쓰기 잠금 1회, 비트맵 연산으로 반영)
+ *
+ * 일관성:
+ * - 적재 중 커밋된 변경은 모아 두었다가 새 비트맵으로 교체한 직후 순서대로 반영
+ *   (상태 설정은 멱등이므로 적재 결과와 겹쳐도 최종 상태는 동일)
+ * - 적재 완료 전(isReady() == false)에는 호출자가 SQL 경로를 사용해야 함
+ * - 이벤트가 오지 않는 변경(다른 인스턴스, archive_inactive_companies 등 DB 직접 수정)은 주기적 대조로 복구:
+ *   reconcile-interval-ms 마다 상태별 COUNT(*) 를 비트맵 크기와 비교하여 연속 2회 다르면 재적재
+ *   (커밋과 이벤트 반영 사이의 일시적 차이로 재적재하지 않도록 연속 2회), 적재 실패/비활성화 상태면 다시 적재
+ * - 대조는 개수만 비교하므로 최소 2 주기 늦고, 서로 상쇄되는 변경(ACTIVE→INACTIVE 1건 + INACTIVE→ACTIVE 1건)은
+ *   재적재 전까지 intersect 결과에 남음 → 기본 비활성화, 회사 쓰기가 모두 이 인스턴스를 거치는 구성에서만 사용
+ *
+ * 샤딩 사용 시 적재/대조 조회를 샤드마다 병렬 실행하고 비트맵은 합집합, 개수는 합산 (회사 ID 는 샤드 간 겹치지 않음)
+ *
+ * 제약: RoaringBitmap 은 32비트 정수 집합이므로 id 가 Integer.MAX_VALUE 를 넘으면 인덱스를 비활성화
+ *
+ * 설정 (application.properties):
+ * - app.status-index.enabled=false : 사용 여부 (false 면 항상 SQL 경로 사용, 쓰기를 한 인스턴스가 모두 처리할 때만 true)
+ * - app.status-index.reconcile-interval-ms=60000 (0 이면 대조하지 않음)
+ */
+@Slf4j
+@Component
+public class CompanyStatusBitmapIndex {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired(required = false)
+    private ShardExecutor shardExecutor;
+
+    @Value("${app.status-index.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.status-index.reconcile-interval-ms:60000}")
+    private long reconcileIntervalMillis;
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * 직전 대조에서 개수가 달랐는지 (연속 2회 다르면 재적재)
+     */
+    private boolean mismatched;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 적재 중에 도착한 변경 (적재 완료 후 순서대로 반영)
+     */
+    private final List<Runnable> pending = new ArrayList<>();
+
+    private Map<CompanyStatus, RoaringBitmap> bitmaps = emptyBitmaps();
+
+    private boolean loading;
+
+    private volatile boolean ready;
+
+    /**
+     * 기동 완료 후 백그라운드에서 전체 적재, 이후 주기적으로 DB 와 대조
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "company-status-bitmap-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.execute(this::load);
+        if (reconcileIntervalMillis > 0) {
+            scheduler.scheduleWithFixedDelay(this::reconcileQuietly, reconcileIntervalMillis, reconcileIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stopReconcile() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.warn("상태 비트맵 인덱스 대조 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 상태별 COUNT(*) 와 비트맵 크기를 비교하여 연속 2회 다르면 재적재 (준비되지 않은 상태면 바로 재적재)
+     *
+     * status 파티션(V2) 환경에서는 상태별 집계가 파티션별 COUNT 로 처리됨
+     */
+    public void reconcile() {
+        if (!ready) {
+            mismatched = false;
+            load();
+            return;
+        }
+        Map<CompanyStatus, Long> counts;
+        try {
+            counts = shardExecutor == null ? countByStatus() : sumCounts(shardExecutor.callAll(this::countByStatus));
+        } catch (SQLException | RuntimeException e) {
+            log.warn("상태 비트맵 인덱스 대조 조회 실패: {}", e.getMessage());
+            return;
+        }
+        boolean drifted = false;
+        lock.readLock().lock();
+        try {
+            for (CompanyStatus status : CompanyStatus.values()) {
+                if (bitmaps.get(status).getLongCardinality() != counts.getOrDefault(status, 0L)) {
+                    drifted = true;
+                    break;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (drifted && mismatched) {
+            log.warn("상태 비트맵 인덱스가 DB 와 다름 {} - 재적재", counts);
+            mismatched = false;
+            load();
+            return;
+        }
+        mismatched = drifted;
+    }
+
+    /**
+     * company 테이블 전체를 스트리밍으로 읽어 비트맵 재구성
+     *
+     * 잠금 없이 새 비트맵을 만든 뒤 교체하므로 적재 중에도 쓰기 경로는 막히지 않음
+     * (적재 중 변경은 pending 에 모았다가 교체 직후 반영)
+     */
+    public void load() {
+        long start = System.nanoTime();
+        synchronized (pending) {
+            loading = true;
+            pending.clear();
+        }
+        Map<CompanyStatus, RoaringBitmap> loaded;
+        try {
+            loaded = shardExecutor == null ? loadBitmaps() : union(shardExecutor.callAll(this::loadBitmaps));
+        } catch (SQLException | RuntimeException e) {
+            synchronized (pending) {
+                loading = false;
+                pending.clear();
+            }
+            log.warn("상태 비트맵 인덱스 적재 실패 - SQL 경로 사용: {}", e.getMessage());
+            return;
+        }
+        loaded.values().forEach(RoaringBitmap::runOptimize);
+
+        lock.writeLock().lock();
+        try {
+            synchronized (pending) {
+                bitmaps = loaded;
+                pending.forEach(Runnable::run);
+                pending.clear();
+                loading = false;
+            }
+            ready = true;
+            log.info("상태 비트맵 인덱스 적재 완료 - {} 건, {} ms, {} bytes", countAllLocked(),
+                    (System.nanoTime() - start) / 1_000_000, sizeInBytesLocked());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 현재 샤드(샤딩 비활성화 시 기본 DB)의 company 를 스트리밍으로 읽어 상태별 비트맵 생성
+     */
+    private Map<CompanyStatus, RoaringBitmap> loadBitmaps() throws SQLException {
+        Map<CompanyStatus, RoaringBitmap> loaded = emptyBitmaps();
+        try (Connection connection = dataSource.getConnection()) {
+            // PostgreSQL 은 autocommit 이 꺼져 있어야 fetchSize 단위로 스트리밍함
+            connection.setAutoCommit(false);
+            try (PreparedStatement stmt = connection.prepareStatement("SELECT id, status FROM company")) {
+                stmt.setFetchSize(10_000);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        long id = rs.getLong(1);
+                        if (id > Integer.MAX_VALUE) {
+                            throw new IllegalStateException("비트맵 인덱스 범위를 넘는 id: " + id);
+                        }
+                        loaded.get(CompanyStatus.valueOf(rs.getString(2))).add((int) id);
+                    }
+                }
+            } finally {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * 현재 샤드(샤딩 비활성화 시 기본 DB)의 상태별 COUNT(*)
+     */
+    private Map<CompanyStatus, Long> countByStatus() throws SQLException {
+        Map<CompanyStatus, Long> counts = new EnumMap<>(CompanyStatus.class);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement stmt = connection.prepareStatement("SELECT status, COUNT(*) FROM company GROUP BY status");
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                counts.put(CompanyStatus.valueOf(rs.getString(1)), rs.getLong(2));
+            }
+        }
+        return counts;
+    }
+
+    private static Map<CompanyStatus, RoaringBitmap> union(List<Map<CompanyStatus, RoaringBitmap>> perShard) {
+        Map<CompanyStatus, RoaringBitmap> merged = emptyBitmaps();
+        perShard.forEach(bitmaps -> bitmaps.forEach((status, bitmap) -> merged.get(status).or(bitmap)));
+        return merged;
+    }
+
+    private static Map<CompanyStatus, Long> sumCounts(List<Map<CompanyStatus, Long>> perShard) {
+        Map<CompanyStatus, Long> merged = new EnumMap<>(CompanyStatus.class);
+        perShard.forEach(counts -> counts.forEach((status, count) -> merged.merge(status, count, Long::sum)));
+        return merged;
+    }
+
+    /**
+     * 커밋된 회사 변경을 비트맵에 반영
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCompanyChanged(CompanyChangedEvent event) {
+        if (!enabled || event.companyId() == null) {
+            return;
+        }
+        synchronized (pending) {
+            if (loading) {
+                pending.add(() -> apply(event));
+                return;
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 커밋된 일괄 상태 전환을 비트맵에 반영 (쓰기 잠금 1회)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCompanyStatusBulkChanged(CompanyStatusBulkChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (pending) {
+            if (loading) {
+                pending.add(() -> apply(event));
+                return;
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 변경 1건 반영 (쓰기 잠금 보유 상태에서 호출)
+     */
+    private void apply(CompanyChangedEvent event) {
+        long id = event.companyId();
+        if (id > Integer.MAX_VALUE) {
+            ready = false;
+            log.warn("비트맵 인덱스 범위를 넘는 id {} - 인덱스 비활성화", id);
+            return;
+        }
+        bitmaps.values().forEach(bitmap -> bitmap.remove((int) id));
+        if (!event.isDelete() && event.status() != null) {
+            bitmaps.get(event.status()).add((int) id);
+        }
+    }
+
+    /**
+     * 일괄 전환 반영 (쓰기 잠금 보유 상태에서 호출)
+     *
+     * 전환된 ID 를 비트맵으로 만든 뒤 모든 상태 비트맵에서 빼고(andNot) to 비트맵에 합침(or)
+     */
+    private void apply(CompanyStatusBulkChangedEvent event) {
+        RoaringBitmap changed = new RoaringBitmap();
+        for (Long id : event.companyIds()) {
+            if (id > Integer.MAX_VALUE) {
+                ready = false;
+                log.warn("비트맵 인덱스 범위를 넘는 id {} - 인덱스 비활성화", id);
+                return;
+            }
+            changed.add(id.intValue());
+        }
+        bitmaps.values().forEach(bitmap -> bitmap.andNot(changed));
+        bitmaps.get(event.to()).or(changed);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 상태별 회사 수
+     *
+     * @return 인덱스가 준비되지 않았으면 empty (호출자는 SQL 경로 사용)
+     */
+    public OptionalLong count(CompanyStatus status) {
+        if (!ready) {
+            return OptionalLong.empty();
+        }
+        lock.readLock().lock();
+        try {
+            return OptionalLong.of(bitmaps.get(status).getLongCardinality());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 전체 회사 수 (상태별 비트맵 크기 합)
+     */
+    public OptionalLong countAll() {
+        if (!ready) {
+            return OptionalLong.empty();
+        }
+        lock.readLock().lock();
+        try {
+            return OptionalLong.of(countAllLocked());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 주어진 ID 집합 중 해당 상태인 ID 만 반환 (교집합)
+     *
+     * 예: 검색 결과 ID ∩ ACTIVE, 특정 사원의 소속 회사 ID ∩ SUSPENDED
+     *
+     * @return 인덱스가 준비되지 않았으면 null (호출자는 SQL 경로 사용)
+     */
+    public RoaringBitmap intersect(CompanyStatus status, Collection<Long> ids) {
+        if (!ready) {
+            return null;
+        }
+        RoaringBitmap requested = new RoaringBitmap();
+        for (Long id : ids) {
+            if (id != null && id >= 0 && id <= Integer.MAX_VALUE) {
+                requested.add(id.intValue());
+            }
+        }
+        return intersect(status, requested);
+    }
+
+    /**
+     * 비트맵끼리의 교집합 (결과는 새 비트맵)
+     */
+    public RoaringBitmap intersect(CompanyStatus status, RoaringBitmap ids) {
+        if (!ready) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            return RoaringBitmap.and(bitmaps.get(status), ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Map<CompanyStatus, RoaringBitmap> emptyBitmaps() {
+        Map<CompanyStatus, RoaringBitmap> map = new EnumMap<>(CompanyStatus.class);
+        for (CompanyStatus status : CompanyStatus.values()) {
+            map.put(status, new RoaringBitmap());
+        }
+        return map;
+    }
+
+    private long countAllLocked() {
+        return bitmaps.values().stream().mapToLong(RoaringBitmap::getLongCardinality).sum();
+    }
+
+    private long sizeInBytesLocked() {
+        return bitmaps.values().stream().mapToLong(RoaringBitmap::getLongSizeInBytes).sum();
+    }
+}
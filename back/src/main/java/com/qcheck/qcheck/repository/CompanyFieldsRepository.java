@@ -0,0 +1,58 @@
+package com.qcheck.qcheck.repository;
+
+import com.qcheck.qcheck.dto.CompanyFieldSelection;
+import com.qcheck.qcheck.entity.CompanyStatus;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 필드 선택(fields=) 조회용 커스텀 리포지토리 (CompanyRepository 에 포함됨)
+ *
+ * 각 메서드는 CompanyRepository 의 같은 이름 조회와 조건/정렬이 같고,
+ * 엔터티 대신 요청한 컬럼만 SELECT 하여 필드명 → 값 맵(요청 순서 유지)으로 반환
+ *
+ * 구현: CompanyFieldsRepositoryImpl (Spring Data 가 이름 규칙 "인터페이스명 + Impl" 로 찾아 연결)
+ */
+public interface CompanyFieldsRepository {
+
+    /**
+     * findAll() 과 같은 조건
+     */
+    List<Map<String, Object>> findAllFields(CompanyFieldSelection fields);
+
+    /**
+     * findByStatus(status) 와 같은 조건
+     */
+    List<Map<String, Object>> findFieldsByStatus(CompanyFieldSelection fields, CompanyStatus status);
+
+    /**
+     * findByNameContaining(keyword) 와 같은 조건
+     */
+    List<Map<String, Object>> findFieldsByNameContaining(CompanyFieldSelection fields, String keyword);
+
+    /**
+     * findAllByOrderByNameAsc() 와 같은 조건
+     */
+    List<Map<String, Object>> findAllFieldsOrderByNameAsc(CompanyFieldSelection fields);
+
+    /**
+     * findByStatusOrderByNameAsc(status) 와 같은 조건
+     */
+    List<Map<String, Object>> findFieldsByStatusOrderByNameAsc(CompanyFieldSelection fields, CompanyStatus status);
+
+    /**
+     * findAllFieldsOrderByNameAsc 의 샤딩용 (코드 포인트 순, CompanyRepository.findAllByOrderByNameCodePoint 참고)
+     */
+    List<Map<String, Object>> findAllFieldsOrderByNameCodePoint(CompanyFieldSelection fields);
+
+    /**
+     * findFieldsByStatusOrderByNameAsc 의 샤딩용 (코드 포인트 순)
+     */
+    List<Map<String, Object>> findFieldsByStatusOrderByNameCodePoint(CompanyFieldSelection fields, CompanyStatus status);
+
+    /**
+     * findByNameIgnoreCase(name) 과 같은 조건 (UPPER(name) LIKE UPPER('%' || name || '%'))
+     */
+    List<Map<String, Object>> findFieldsByNameIgnoreCase(CompanyFieldSelection fields, String name);
+}
@@ -0,0 +1,118 @@
+package com.qcheck.qcheck.repository;
+
+import com.qcheck.qcheck.dto.CompanyFieldSelection;
+import com.qcheck.qcheck.entity.Company;
+import com.qcheck.qcheck.entity.CompanyStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * CompanyFieldsRepository 구현 (JPA Criteria 튜플 조회)
+ *
+ * SELECT 절에 요청한 필드만 넣으므로 DB 에서 읽는 컬럼과 응답 크기가 함께 줄어듦
+ * 엔터티를 만들지 않으므로 영속성 컨텍스트/더티 체킹 비용도 없음
+ * 조건 값은 모두 바인드 파라미터로 전달됨 (Hibernate 기본 criteria_value_handling_mode=BIND)
+ */
+@Transactional(readOnly = true)
+public class CompanyFieldsRepositoryImpl implements CompanyFieldsRepository {
+
+    /**
+     * 이름순 정렬 (NONE: 정렬 안 함, DEFAULT: DB 기본 정렬 규칙, CODE_POINT: COLLATE "C")
+     */
+    private enum NameOrder { NONE, DEFAULT, CODE_POINT }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findAllFields(CompanyFieldSelection fields) {
+        return select(fields, null, NameOrder.NONE);
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsByStatus(CompanyFieldSelection fields, CompanyStatus status) {
+        return select(fields, (cb, company) -> cb.equal(company.get("status"), status), NameOrder.NONE);
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsByNameContaining(CompanyFieldSelection fields, String keyword) {
+        // Spring Data 의 Containing 과 같이 % _ \ 를 이스케이프
+        String pattern = "%" + keyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return select(fields, (cb, company) -> cb.like(company.get("name"), pattern, '\\'), NameOrder.NONE);
+    }
+
+    @Override
+    public List<Map<String, Object>> findAllFieldsOrderByNameAsc(CompanyFieldSelection fields) {
+        return select(fields, null, NameOrder.DEFAULT);
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsByStatusOrderByNameAsc(CompanyFieldSelection fields, CompanyStatus status) {
+        return select(fields, (cb, company) -> cb.equal(company.get("status"), status), NameOrder.DEFAULT);
+    }
+
+    @Override
+    public List<Map<String, Object>> findAllFieldsOrderByNameCodePoint(CompanyFieldSelection fields) {
+        return select(fields, null, NameOrder.CODE_POINT);
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsByStatusOrderByNameCodePoint(CompanyFieldSelection fields,
+                                                                           CompanyStatus status) {
+        return select(fields, (cb, company) -> cb.equal(company.get("status"), status), NameOrder.CODE_POINT);
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsByNameIgnoreCase(CompanyFieldSelection fields, String name) {
+        // value(): 리터럴로 SQL 에 넣지 않고 바인드 파라미터로 전달 (검색어마다 다른 SQL 이 생기지 않도록)
+        return select(fields, (cb, company) -> cb.like(cb.upper(company.get("name")),
+                cb.upper(cb.value("%" + name + "%"))), NameOrder.NONE);
+    }
+
+    private List<Map<String, Object>> select(CompanyFieldSelection fields,
+                                             BiFunction<HibernateCriteriaBuilder, Root<Company>, Predicate> where,
+                                             NameOrder nameOrder) {
+        HibernateCriteriaBuilder cb = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Company> company = query.from(Company.class);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String name : fields.names()) {
+            selections.add(company.get(name).alias(name));
+        }
+        query.multiselect(selections);
+        if (where != null) {
+            query.where(where.apply(cb, company));
+        }
+        if (nameOrder == NameOrder.DEFAULT) {
+            query.orderBy(cb.asc(company.get("name")));
+        } else if (nameOrder == NameOrder.CODE_POINT) {
+            // PostgreSQL: name collate "C"
+            query.orderBy(cb.asc(cb.collate(company.get("name"), "\"C\"")));
+        }
+
+        List<Tuple> tuples = entityManager.createQuery(query).getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String name : fields.names()) {
+                row.put(name, tuple.get(name));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
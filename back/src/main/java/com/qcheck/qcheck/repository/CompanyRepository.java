@@ -2,6 +2,7 @@ package com.qcheck.qcheck.repository;
 
 import com.qcheck.qcheck.entity.Company;
 import com.qcheck.qcheck.entity.CompanyStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -26,13 +27,20 @@ import java.util.Optional;
  * 커스텀 메서드:
  * - JPA가 메서드 이름을 분석해서 자동으로 SQL 쿼리 생성
  * - @Query 어노테이션으로 직접 쿼리 작성도 가능
+ * - 필드 선택 조회(fields=)는 CompanyFieldsRepository 에서 상속 (요청한 컬럼만 SELECT)
+ *
+ * 샤딩(app.sharding.enabled=true) 시 ShardedCompanyRepositoryAspect 가 호출을 샤드별로 나눔:
+ * - 새 메서드는 long / boolean / Optional / List 반환만 모든 샤드 결과 병합 가능
+ * - 이름순 정렬 결과는 메서드명에 OrderByNameAsc 가 있고, OrderByNameAsc 를 OrderByNameCodePoint 로 바꾼
+ *   같은 인자의 코드 포인트 순 메서드가 있어야 병합 후에도 정렬 유지 (샤딩 시에는 그 메서드로 실행)
+ * - Pageable / Sort 인자는 지원하지 않음
  *
  * 사용 예시:
  * Company company = companyRepository.findById(1L).orElse(null);
  * List<Company> activeCompanies = companyRepository.findByStatus(CompanyStatus.ACTIVE);
  */
 @Repository
-public interface CompanyRepository extends JpaRepository<Company, Long> {
+public interface CompanyRepository extends JpaRepository<Company, Long>, CompanyFieldsRepository {
 
     // ========================================
     // 1. 기본 조회 메서드들 (메서드명 기반 쿼리)
@@ -141,6 +149,31 @@ public interface CompanyRepository extends JpaRepository<Company, Long> {
      */
     List<Company> findByStatusOrderByNameAsc(CompanyStatus status);
 
+    // ========================================
+    // 3-1. 샤딩용 이름순 조회 (코드 포인트 순)
+    // ========================================
+
+    /*
+     * 샤딩 시 ShardedCompanyRepositoryAspect 가 ...OrderByNameAsc 호출을 같은 인자의 ...OrderByNameCodePoint 로 바꿔
+     * 샤드마다 실행하고, 결과를 String 코드 포인트 비교로 k-way 병합
+     * DB 기본 정렬 규칙(en_US.UTF-8)은 OS 로케일 구현마다 달라 Java 에서 재현할 수 없으므로 COLLATE "C" 로 정렬
+     * (인덱스 V11, 샤딩하지 않으면 호출되지 않으며 ...OrderByNameAsc 의 정렬 순서는 그대로)
+     */
+
+    @Query(value = "SELECT * FROM company ORDER BY name COLLATE \"C\"", nativeQuery = true)
+    List<Company> findAllByOrderByNameCodePoint();
+
+    @Query(value = "SELECT * FROM company WHERE status = :#{#status.name()} ORDER BY name COLLATE \"C\"",
+            nativeQuery = true)
+    List<Company> findByStatusOrderByNameCodePoint(@Param("status") CompanyStatus status);
+
+    @Query(value = "SELECT * FROM company ORDER BY name COLLATE \"C\"", nativeQuery = true)
+    List<Company> findAllByOrderByNameCodePoint(Limit limit);
+
+    @Query(value = "SELECT * FROM company WHERE status = :#{#status.name()} ORDER BY name COLLATE \"C\"",
+            nativeQuery = true)
+    List<Company> findByStatusOrderByNameCodePoint(@Param("status") CompanyStatus status, Limit limit);
+
     // ========================================
     // 4. 개수 조회 메서드들
     // ========================================
@@ -229,6 +262,31 @@ public interface CompanyRepository extends JpaRepository<Company, Long> {
     @Query(value = "SELECT COUNT(*) FROM company WHERE status = 'ACTIVE'", nativeQuery = true)
     long countActiveCompaniesNative();
 
+    // ========================================
+    // 6-1. 결과 수 제한 조회 (워밍업용)
+    // ========================================
+
+    /*
+     * 전체/상태별 목록 메서드와 같은 JPQL 에 LIMIT 만 붙여 실행 (Limit 인자)
+     * WarmupService 가 테이블 전체를 읽지 않고 쿼리 형태만 예열할 때 사용
+     */
+
+    /**
+     * 전체 조회 (findAll 과 같은 조건, 최대 limit 건)
+     */
+    List<Company> findAllBy(Limit limit);
+
+    List<Company> findByStatus(CompanyStatus status, Limit limit);
+
+    List<Company> findByStatusNot(CompanyStatus status, Limit limit);
+
+    List<Company> findAllByOrderByNameAsc(Limit limit);
+
+    List<Company> findByStatusOrderByNameAsc(CompanyStatus status, Limit limit);
+
+    @Query("SELECT c FROM Company c WHERE c.status = 'ACTIVE'")
+    List<Company> findActiveCompanies(Limit limit);
+
     // ========================================
     // 7. 학습용 메서드명 패턴 정리
     // ========================================
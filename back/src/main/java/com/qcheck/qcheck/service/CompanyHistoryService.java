@@ -0,0 +1,268 @@
+package com.qcheck.qcheck.service;
+
+import com.qcheck.qcheck.dto.CompanyHeadcount;
+import com.qcheck.qcheck.dto.CompanyMembership;
+import com.qcheck.qcheck.dto.HeadcountSeries;
+import com.qcheck.qcheck.dto.MembershipChange;
+import com.qcheck.qcheck.sharding.ShardExecutor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 회사 소속 이력(company_emp_hist) 조회 서비스
+ *
+ * 두 가지 경로 (V7):
+ * - 기간 인덱스: period(daterange) GiST 인덱스로 특정 일 소속자, 기간 내 입사/퇴사를 이력에서 직접 조회 (항상 최신)
+ * - 일별 인원 집계: company_headcount_daily 에서 인원/추이 조회 (CompanyHeadcountRollup 갱신 주기만큼 늦을 수 있음,
+ *   app.headcount-rollup.enabled=true 인 인스턴스가 없으면 갱신되지 않음)
+ *
+ * 인원 조회는 집계를 사용하고, 바로 반영된 값이 필요하면 exact 조회(기간 인덱스로 COUNT)를 사용
+ * 집계가 한 번도 실행되지 않았으면(company_headcount_rollup_state 가 비어 있음) 빈 집계를 0 명으로 내보내지 않도록
+ * 인원/추이/회사별 인원 모두 기간 인덱스 경로로 계산
+ *
+ * 샤딩 사용 시 이력/집계는 회사와 같은 샤드에 있으므로 회사별 조회는 회사 ID 샤드에서,
+ * 전체 회사 조회(headcountsOn)는 모든 샤드에서 병렬 실행 후 회사 ID 순으로 합침
+ * (조회마다 SQL 1문장이므로 트랜잭션 없이 실행, 호출 스레드가 샤드 작업을 기다리는 동안 커넥션을 잡지 않음)
+ */
+@Service
+public class CompanyHistoryService {
+
+    /**
+     * 일별 추이 최대 조회 기간 (약 10년)
+     */
+    public static final int MAX_SERIES_DAYS = 3_660;
+
+    private static final String MEMBERS_ON_SQL = """
+            SELECT emp_seq, start_date, end_date
+            FROM company_emp_hist
+            WHERE company_seq = ? AND period @> ?::date
+            ORDER BY emp_seq
+            """;
+
+    private static final String COUNT_MEMBERS_ON_SQL = """
+            SELECT COUNT(*) FROM company_emp_hist
+            WHERE company_seq = ? AND period @> ?::date
+            """;
+
+    /**
+     * 기간과 겹치는 이력 중 시작일 또는 종료일이 기간 안에 있는 것 (겹치므로 start_date <= to, end_date >= from 은 이미 성립)
+     */
+    private static final String CHANGES_SQL = """
+            SELECT emp_seq, start_date, end_date
+            FROM company_emp_hist
+            WHERE company_seq = ? AND period && daterange(?::date, ?::date, '[]')
+              AND (start_date >= ? OR end_date <= ?)
+            """;
+
+    /**
+     * 집계가 한 번이라도 실행되었는지 (샤딩 시 샤드별 상태)
+     */
+    private static final String ROLLED_UP_SQL = "SELECT EXISTS (SELECT 1 FROM company_headcount_rollup_state)";
+
+    private static final String HEADCOUNT_ON_SQL = """
+            SELECT headcount FROM company_headcount_daily
+            WHERE company_seq = ? AND day <= ?
+            ORDER BY day DESC
+            LIMIT 1
+            """;
+
+    /**
+     * 회사마다 기준일 이전 마지막 변경일을 기본키 역방향으로 1건씩 조회
+     */
+    private static final String HEADCOUNTS_ON_SQL = """
+            SELECT c.id, d.headcount
+            FROM company c
+            CROSS JOIN LATERAL (
+                SELECT headcount FROM company_headcount_daily
+                WHERE company_seq = c.id AND day <= ?
+                ORDER BY day DESC
+                LIMIT 1
+            ) d
+            WHERE d.headcount > 0
+            ORDER BY c.id
+            """;
+
+    /**
+     * 집계가 없을 때: 기준일에 소속된 이력을 기간 인덱스로 회사별 COUNT (HEADCOUNTS_ON_SQL 과 같은 결과 형식)
+     */
+    private static final String EXACT_HEADCOUNTS_ON_SQL = """
+            SELECT h.company_seq AS id, COUNT(*) AS headcount
+            FROM company_emp_hist h
+            JOIN company c ON c.id = h.company_seq
+            WHERE h.period @> ?::date
+            GROUP BY h.company_seq
+            ORDER BY h.company_seq
+            """;
+
+    /**
+     * from 시점 인원(이전 마지막 변경) + 기간 내 변경
+     */
+    private static final String SERIES_SQL = """
+            (SELECT day, headcount FROM company_headcount_daily
+             WHERE company_seq = ? AND day <= ?
+             ORDER BY day DESC
+             LIMIT 1)
+            UNION ALL
+            (SELECT day, headcount FROM company_headcount_daily
+             WHERE company_seq = ? AND day > ? AND day <= ?
+             ORDER BY day)
+            """;
+
+    /**
+     * 집계가 없을 때: from 시점 인원(기간 인덱스 COUNT) + 기간 내 변경일별 누적 인원 (SERIES_SQL 과 같은 결과 형식)
+     * 변경은 CompanyHeadcountRollup 과 같이 이력 1건을 (시작일, +1) / (종료일 다음 날, -1) 로 펼쳐 계산
+     */
+    private static final String EXACT_SERIES_SQL = """
+            WITH base AS (
+                SELECT COUNT(*) AS headcount FROM company_emp_hist
+                WHERE company_seq = ? AND period @> ?::date
+            ), changes AS (
+                SELECT e.day, SUM(e.delta) AS delta
+                FROM company_emp_hist h
+                CROSS JOIN LATERAL (VALUES (lower(h.period), 1), (upper(h.period), -1)) AS e (day, delta)
+                WHERE h.company_seq = ? AND h.period && daterange(?::date, ?::date, '[]')
+                  AND e.day > ? AND e.day <= ?
+                GROUP BY e.day
+            )
+            SELECT CAST(? AS date) AS day, headcount FROM base
+            UNION ALL
+            SELECT c.day, b.headcount + SUM(c.delta) OVER (ORDER BY c.day)
+            FROM changes c CROSS JOIN base b
+            ORDER BY day
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired(required = false)
+    private ShardExecutor shardExecutor;
+
+    /**
+     * 기준일에 소속된 사원 목록 (기간 인덱스)
+     */
+    public List<CompanyMembership> membersOn(long companyId, LocalDate date) {
+        return onCompanyShard(companyId, () -> jdbcTemplate.query(MEMBERS_ON_SQL,
+                (rs, rowNum) -> new CompanyMembership(
+                        rs.getLong("emp_seq"),
+                        rs.getObject("start_date", LocalDate.class),
+                        rs.getObject("end_date", LocalDate.class)), companyId, date));
+    }
+
+    /**
+     * 기준일 인원
+     *
+     * @param exact true 면 기간 인덱스로 바로 계산, false 면 일별 집계 사용 (갱신 주기만큼 늦을 수 있음)
+     */
+    public CompanyHeadcount headcountOn(long companyId, LocalDate date, boolean exact) {
+        List<Integer> headcount = onCompanyShard(companyId, () -> jdbcTemplate.queryForList(
+                exact || !rolledUp() ? COUNT_MEMBERS_ON_SQL : HEADCOUNT_ON_SQL, Integer.class, companyId, date));
+        return new CompanyHeadcount(companyId, date, headcount.isEmpty() ? 0 : headcount.get(0));
+    }
+
+    /**
+     * 기준일에 인원이 있는 모든 회사의 인원 (일별 집계, 집계가 없으면 기간 인덱스, 회사 ID 순)
+     */
+    public List<CompanyHeadcount> headcountsOn(LocalDate date) {
+        Supplier<List<CompanyHeadcount>> query = () -> jdbcTemplate.query(
+                rolledUp() ? HEADCOUNTS_ON_SQL : EXACT_HEADCOUNTS_ON_SQL,
+                (rs, rowNum) -> new CompanyHeadcount(rs.getLong("id"), date, rs.getInt("headcount")), date);
+        if (shardExecutor == null) {
+            return query.get();
+        }
+        List<CompanyHeadcount> headcounts = new ArrayList<>();
+        shardExecutor.callAll(query::get).forEach(headcounts::addAll);
+        headcounts.sort(Comparator.comparing(CompanyHeadcount::companyId));
+        return headcounts;
+    }
+
+    /**
+     * 일별 인원 추이 (일별 집계의 변경일 사이를 앞 값으로 채움, 집계가 없으면 이력에서 변경일을 직접 계산)
+     *
+     * @throws IllegalArgumentException from 이 to 보다 늦거나 기간이 MAX_SERIES_DAYS 를 넘는 경우
+     */
+    public HeadcountSeries headcountSeries(long companyId, LocalDate from, LocalDate to) {
+        long days = checkRange(from, to);
+        if (days > MAX_SERIES_DAYS) {
+            throw new IllegalArgumentException("조회 기간은 최대 " + MAX_SERIES_DAYS + "일: " + days + "일");
+        }
+        record Change(LocalDate day, int headcount) {
+        }
+        RowMapper<Change> change = (rs, rowNum) -> new Change(rs.getObject("day", LocalDate.class), rs.getInt("headcount"));
+        List<Change> changes = onCompanyShard(companyId, () -> rolledUp()
+                ? jdbcTemplate.query(SERIES_SQL, change, companyId, from, companyId, from, to)
+                : jdbcTemplate.query(EXACT_SERIES_SQL, change, companyId, from, companyId, from, to, from, to, from));
+
+        List<HeadcountSeries.Point> points = new ArrayList<>((int) days);
+        int next = 0;
+        int headcount = 0;
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            while (next < changes.size() && !changes.get(next).day().isAfter(date)) {
+                headcount = changes.get(next++).headcount();
+            }
+            points.add(new HeadcountSeries.Point(date, headcount));
+        }
+        return new HeadcountSeries(companyId, from, to, points);
+    }
+
+    /**
+     * 기간(양 끝 포함) 내 입사/퇴사 목록 (기간 인덱스, 날짜순)
+     *
+     * @throws IllegalArgumentException from 이 to 보다 늦은 경우
+     */
+    public List<MembershipChange> membershipChanges(long companyId, LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        List<MembershipChange> changes = onCompanyShard(companyId, () -> {
+            List<MembershipChange> found = new ArrayList<>();
+            jdbcTemplate.query(CHANGES_SQL, rs -> {
+                long empSeq = rs.getLong("emp_seq");
+                LocalDate start = rs.getObject("start_date", LocalDate.class);
+                LocalDate end = rs.getObject("end_date", LocalDate.class);
+                if (!start.isBefore(from)) {
+                    found.add(new MembershipChange(empSeq, start, MembershipChange.Type.JOINED));
+                }
+                if (end != null && !end.isAfter(to)) {
+                    found.add(new MembershipChange(empSeq, end, MembershipChange.Type.LEFT));
+                }
+            }, companyId, from, to, from, to);
+            return found;
+        });
+        changes.sort(Comparator.comparing(MembershipChange::date).thenComparing(MembershipChange::empSeq));
+        return changes;
+    }
+
+    /**
+     * 현재 샤드(샤딩 비활성화 시 기본 DB)에 일별 집계가 있는지
+     */
+    private boolean rolledUp() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(ROLLED_UP_SQL, Boolean.class));
+    }
+
+    /**
+     * 회사 ID 샤드에서 조회 (샤딩 비활성화 시 현재 스레드에서 그대로 실행)
+     */
+    private <T> T onCompanyShard(long companyId, Supplier<T> query) {
+        if (shardExecutor == null) {
+            return query.get();
+        }
+        return shardExecutor.call(shardExecutor.shardMap().shardForId(companyId), query::get);
+    }
+
+    /**
+     * @return 기간 일수 (양 끝 포함)
+     */
+    private static long checkRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from 이 to 보다 늦음: " + from + " > " + to);
+        }
+        return ChronoUnit.DAYS.between(from, to) + 1;
+    }
+}
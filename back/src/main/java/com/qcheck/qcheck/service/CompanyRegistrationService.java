@@ -0,0 +1,190 @@
+package com.qcheck.qcheck.service;
+
+import com.qcheck.qcheck.audit.AuditActorHolder;
+import com.qcheck.qcheck.dto.CompanyRegistrationResult;
+import com.qcheck.qcheck.dto.CompanyRegistrationResult.Outcome;
+import com.qcheck.qcheck.entity.Company;
+import com.qcheck.qcheck.entity.CompanyStatus;
+import com.qcheck.qcheck.event.CompanyChangedEvent;
+import com.qcheck.qcheck.repository.CompanyRepository;
+import com.qcheck.qcheck.sharding.ShardExecutor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+/**
+ * 회사 등록 서비스 (멱등)
+ *
+ * 목적: existsByName 확인 후 save 하는 방식은 2번 왕복이고, 동시에 같은 이름을 등록하면 둘 다 통과하여 중복 생성됨
+ *       → 정규화된 회사명 고유 키(company_name_key, V6)에 INSERT ... ON CONFLICT ... RETURNING 으로
+ *         이름 선점과 회사 INSERT 를 SQL 1문장으로 처리 (재시도/테이블 잠금 없음)
+ *
+ * 처리 방식 (SQL 1문장):
+ * - reused: 멱등 키가 다른 이름의 선점에 이미 쓰였으면 아무것도 하지 않고 빈 결과
+ * - new_id: company 시퀀스에서 ID 를 미리 발급 (선점에 실패하면 번호만 건너뜀)
+ * - claim: 이름 선점 INSERT, 이미 있으면 ON CONFLICT DO UPDATE 로 기존 행(선점한 회사 ID, 멱등 키)을 반환
+ *          (같은 이름을 동시에 등록하면 나중 요청은 먼저 요청의 커밋/롤백을 기다린 뒤 그 결과를 받음)
+ * - created: 선점한 ID 가 new_id 와 같을 때만 company INSERT
+ * - 기존 회사는 같은 문장에서 LEFT JOIN 으로 함께 조회
+ *   (먼저 요청이 이 문장 시작 후 커밋되었으면 문장 스냅샷에 보이지 않으므로 ID 로 한 번 더 조회)
+ *
+ * 멱등 키 (Idempotency-Key 헤더):
+ * - 같은 키 + 같은 이름 재요청: REPLAYED (처음 등록한 회사 반환)
+ * - 같은 키 + 다른 이름: IllegalStateException (키는 등록 1건에만 사용 가능)
+ * - 키는 고유 제약이 아닌 일반 인덱스: 고유 제약이면 같은 키의 동시 재전송이 이름 충돌 처리 전에
+ *   키 중복 오류로 실패하므로, 동시 재전송도 이름 선점 대기 후 REPLAYED 가 되도록 함
+ *
+ * 회사 삭제 시 선점 해제는 DB 트리거(V10)가 같은 트랜잭션에서 처리 (JPA 삭제, 보관, 직접 SQL 삭제 모두)
+ * 트리거가 없던 때 남은 선점처럼 선점한 회사가 없으면, 그 선점을 지우고 한 번 더 등록 시도 (다시 선점 가능)
+ * 엔터티 리스너를 거치지 않으므로 등록 시 CompanyChangedEvent(INSERT)를 직접 발행
+ *
+ * 샤딩 사용 시 회사명 샤드(ShardMap.shardForName)에서 실행: 같은 이름은 항상 같은 샤드의 company_name_key 에서 경합하고,
+ * ID 는 그 샤드의 시퀀스에서 발급되므로 이후 ID 조회도 같은 샤드로 연결됨
+ */
+@Service
+public class CompanyRegistrationService {
+
+    private static final String REGISTER_SQL = """
+            WITH reused AS (
+                SELECT 1 FROM company_name_key
+                WHERE idempotency_key = ? AND name_key <> company_name_key(?)
+            ), new_id AS (
+                SELECT nextval(pg_get_serial_sequence('company', 'id')) AS id
+            ), claim AS (
+                INSERT INTO company_name_key AS k (name_key, company_id, idempotency_key)
+                SELECT company_name_key(?), id, ? FROM new_id
+                WHERE NOT EXISTS (SELECT 1 FROM reused)
+                ON CONFLICT (name_key) DO UPDATE SET name_key = EXCLUDED.name_key
+                RETURNING k.company_id, k.idempotency_key
+            ), created AS (
+                INSERT INTO company (id, name, status, version, created_at, created_ep)
+                SELECT cl.company_id, ?, ?, 0, ?, ?
+                FROM claim cl
+                JOIN new_id n ON n.id = cl.company_id
+                RETURNING id
+            )
+            SELECT cl.company_id, cr.id IS NOT NULL AS is_created, cl.idempotency_key,
+                   c.name, c.status, c.version, c.created_at, c.created_ep, c.updated_at, c.updated_ep
+            FROM claim cl
+            LEFT JOIN created cr ON cr.id = cl.company_id
+            LEFT JOIN company c ON c.id = cl.company_id
+            """;
+
+    /**
+     * 선점한 회사가 없는 선점만 삭제 (그 사이 다른 요청이 다시 선점했으면 company_id 가 달라 삭제하지 않음)
+     */
+    private static final String RECLAIM_SQL = """
+            DELETE FROM company_name_key k
+            WHERE k.company_id = ? AND NOT EXISTS (SELECT 1 FROM company c WHERE c.id = k.company_id)
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired(required = false)
+    private ShardExecutor shardExecutor;
+
+    /**
+     * 회사 등록
+     *
+     * @param name           회사명 (앞뒤 공백은 제거하여 저장)
+     * @param status         초기 상태 (null 이면 ACTIVE)
+     * @param idempotencyKey 멱등 키 (null 이면 이름만으로 중복 판단)
+     * @return 등록 결과 (CREATED / REPLAYED / EXISTING)
+     * @throws IllegalStateException 멱등 키가 다른 이름의 등록에 이미 사용된 경우
+     */
+    public CompanyRegistrationResult register(String name, CompanyStatus status, String idempotencyKey) {
+        if (shardExecutor == null) {
+            return transactionTemplate.execute(tx -> register(name, status, idempotencyKey, true));
+        }
+        // 트랜잭션은 작업 스레드에서 시작해야 회사명 샤드의 커넥션을 사용
+        return shardExecutor.call(shardExecutor.shardMap().shardForName(name),
+                () -> transactionTemplate.execute(tx -> register(name, status, idempotencyKey, true)));
+    }
+
+    /**
+     * @param reclaim 선점한 회사가 없을 때 선점을 지우고 다시 시도할지 (재시도는 1회만)
+     */
+    private CompanyRegistrationResult register(String name, CompanyStatus status, String idempotencyKey,
+                                               boolean reclaim) {
+        String trimmed = name.strip();
+        CompanyStatus initial = status != null ? status : CompanyStatus.ACTIVE;
+        String actor = AuditActorHolder.currentActor();
+        OffsetDateTime createdAt = OffsetDateTime.now();
+
+        CompanyRegistrationResult result = jdbcTemplate.query(connection -> {
+            var stmt = connection.prepareStatement(REGISTER_SQL);
+            stmt.setString(1, idempotencyKey);
+            stmt.setString(2, trimmed);
+            stmt.setString(3, trimmed);
+            stmt.setString(4, idempotencyKey);
+            stmt.setString(5, trimmed);
+            stmt.setString(6, initial.name());
+            stmt.setObject(7, createdAt);
+            stmt.setString(8, actor);
+            return stmt;
+        }, rs -> {
+            if (!rs.next()) {
+                // reused: 멱등 키가 다른 이름의 선점에 이미 사용됨 → 선점/INSERT 하지 않음
+                throw new IllegalStateException("Idempotency-Key 가 다른 회사 등록에 이미 사용됨: " + idempotencyKey);
+            }
+            long id = rs.getLong("company_id");
+            if (rs.getBoolean("is_created")) {
+                return new CompanyRegistrationResult(Outcome.CREATED, Company.builder()
+                        .id(id).name(trimmed).status(initial).version(0L)
+                        .createdAt(createdAt).createdEp(actor)
+                        .build());
+            }
+            Outcome outcome = idempotencyKey != null && idempotencyKey.equals(rs.getString("idempotency_key"))
+                    ? Outcome.REPLAYED : Outcome.EXISTING;
+            if (rs.getString("name") == null) {
+                return new CompanyRegistrationResult(outcome, Company.builder().id(id).build());
+            }
+            return new CompanyRegistrationResult(outcome, Company.builder()
+                    .id(id)
+                    .name(rs.getString("name"))
+                    .status(CompanyStatus.valueOf(rs.getString("status")))
+                    .version(rs.getLong("version"))
+                    .createdAt(rs.getObject("created_at", OffsetDateTime.class))
+                    .createdEp(rs.getString("created_ep"))
+                    .updatedAt(rs.getObject("updated_at", OffsetDateTime.class))
+                    .updatedEp(rs.getString("updated_ep"))
+                    .build());
+        });
+
+        Company company = result.company();
+        if (result.outcome() == Outcome.CREATED) {
+            eventPublisher.publishEvent(new CompanyChangedEvent(company.getId(), "INSERT", company.getName(),
+                    company.getStatus(), null, actor, createdAt));
+        } else if (company.getName() == null) {
+            // 먼저 등록한 요청이 이 문장 시작 후 커밋됨 → 새 스냅샷으로 조회 (READ COMMITTED)
+            Long id = company.getId();
+            Optional<Company> existing = companyRepository.findById(id);
+            if (existing.isEmpty()) {
+                // 선점한 회사가 없음 (삭제됨) → 선점을 회수하고 다시 등록
+                if (!reclaim) {
+                    throw new ConcurrencyFailureException("선점한 회사가 그 사이 삭제됨: " + id);
+                }
+                jdbcTemplate.update(RECLAIM_SQL, id);
+                return register(name, status, idempotencyKey, false);
+            }
+            return new CompanyRegistrationResult(result.outcome(), existing.get());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,151 @@
+package com.qcheck.qcheck.service;
+
+import com.qcheck.qcheck.audit.AuditActorHolder;
+import com.qcheck.qcheck.dto.BulkStatusTransitionResult;
+import com.qcheck.qcheck.dto.BulkStatusTransitionResult.Item;
+import com.qcheck.qcheck.dto.BulkStatusTransitionResult.Outcome;
+import com.qcheck.qcheck.entity.CompanyStatus;
+import com.qcheck.qcheck.event.CompanyStatusBulkChangedEvent;
+import com.qcheck.qcheck.sharding.ShardExecutor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Array;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+
+/**
+ * 회사 상태 일괄 전환 서비스
+ *
+ * 목적: 계약 단위 일시중단 등 대량 상태 변경을 회사별 조회/저장(2N 번 왕복) 대신
+ *       집합 기반 UPDATE 1문장으로 처리
+ *
+ * 처리 방식 (SQL 1문장):
+ * - UPDATE company ... WHERE id = ANY(?) AND status = ? RETURNING 으로 전환
+ * - 같은 문장에서 version + 1, updated_at, updated_ep 갱신
+ * - 데이터 변경 CTE 바깥의 SELECT 는 변경 전 스냅샷을 보므로, 요청 ID 와 LEFT JOIN 하여
+ *   ID 별 결과(UPDATED / STATUS_MISMATCH / NOT_FOUND)를 같은 문장에서 산출
+ * - status 파티션(V2) 환경에서는 WHERE status = ? 로 원본 파티션만 스캔하고, 전환된 행은 대상 파티션으로 이동
+ *
+ * 엔터티 리스너를 거치지 않으므로 전환된 행을 모아 CompanyStatusBulkChangedEvent 1건을 직접 발행
+ * (행마다 발행하지 않음, 구독자는 커밋 후 한 번에 처리)
+ *
+ * 샤딩 사용 시 ID 를 샤드별로 나눠(ShardMap.shardForId) 샤드마다 같은 문장을 병렬 실행하고 결과를 ID 순으로 합침
+ * 샤드마다 별도 트랜잭션이므로 한 샤드가 실패해도 다른 샤드의 전환은 커밋될 수 있고, 이벤트도 샤드별로 1건씩 발행
+ */
+@Service
+public class CompanyStatusTransitionService {
+
+    private static final String TRANSITION_SQL = """
+            WITH requested AS (
+                SELECT unnest(?::bigint[]) AS id
+            ), updated AS (
+                UPDATE company
+                SET status = ?, version = version + 1, updated_at = CURRENT_TIMESTAMP, updated_ep = ?
+                WHERE id = ANY(?::bigint[]) AND status = ?
+                RETURNING id, name
+            )
+            SELECT r.id, u.id IS NOT NULL AS is_updated, u.name AS updated_name, c.status AS current_status
+            FROM requested r
+            LEFT JOIN updated u ON u.id = r.id
+            LEFT JOIN company c ON c.id = r.id
+            ORDER BY r.id
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired(required = false)
+    private ShardExecutor shardExecutor;
+
+    /**
+     * 일괄 상태 전환
+     *
+     * @param ids  전환할 회사 ID 목록 (중복 제거 후 처리)
+     * @param from 현재 상태
+     * @param to   전환할 상태
+     * @return ID 별 결과
+     * @throws IllegalArgumentException 허용되지 않는 상태 전환인 경우 (CompanyStatus.canTransitionTo)
+     */
+    public BulkStatusTransitionResult transition(List<Long> ids, CompanyStatus from, CompanyStatus to) {
+        if (!from.canTransitionTo(to)) {
+            throw new IllegalArgumentException("허용되지 않는 상태 전환: " + from + " → " + to);
+        }
+        Long[] uniqueIds = new LinkedHashSet<>(ids).toArray(new Long[0]);
+        String actor = AuditActorHolder.currentActor();
+        OffsetDateTime changedAt = OffsetDateTime.now();
+
+        List<Item> results;
+        if (shardExecutor == null) {
+            results = transactionTemplate.execute(tx -> transition(uniqueIds, from, to, actor, changedAt));
+        } else {
+            Map<Integer, List<Long>> idsByShard = new TreeMap<>();
+            for (Long id : uniqueIds) {
+                idsByShard.computeIfAbsent(shardExecutor.shardMap().shardForId(id), shard -> new ArrayList<>()).add(id);
+            }
+            Map<Integer, Callable<List<Item>>> tasks = new TreeMap<>();
+            idsByShard.forEach((shard, shardIds) -> tasks.put(shard, () -> transactionTemplate.execute(tx ->
+                    transition(shardIds.toArray(new Long[0]), from, to, actor, changedAt))));
+            results = new ArrayList<>(uniqueIds.length);
+            shardExecutor.callEach(tasks).forEach(results::addAll);
+            results.sort(Comparator.comparing(Item::id));
+        }
+        int updated = (int) results.stream().filter(item -> item.outcome() == Outcome.UPDATED).count();
+        return new BulkStatusTransitionResult(from, to, uniqueIds.length, updated, results);
+    }
+
+    /**
+     * 현재 트랜잭션(커넥션)에서 전환 문장 실행 후 전환된 행이 있으면 이벤트 발행
+     *
+     * @return ID 별 결과 (ID 순)
+     */
+    private List<Item> transition(Long[] uniqueIds, CompanyStatus from, CompanyStatus to, String actor,
+                                  OffsetDateTime changedAt) {
+        List<Item> results = new ArrayList<>(uniqueIds.length);
+        List<Long> updatedIds = new ArrayList<>();
+        List<String> updatedNames = new ArrayList<>();
+        jdbcTemplate.query(connection -> {
+            Array idArray = connection.createArrayOf("bigint", uniqueIds);
+            var stmt = connection.prepareStatement(TRANSITION_SQL);
+            stmt.setArray(1, idArray);
+            stmt.setString(2, to.name());
+            stmt.setString(3, actor);
+            stmt.setArray(4, idArray);
+            stmt.setString(5, from.name());
+            return stmt;
+        }, rs -> {
+            long id = rs.getLong("id");
+            String current = rs.getString("current_status");
+            if (rs.getBoolean("is_updated")) {
+                results.add(new Item(id, Outcome.UPDATED, to));
+                updatedIds.add(id);
+                updatedNames.add(rs.getString("updated_name"));
+            } else if (current == null) {
+                results.add(new Item(id, Outcome.NOT_FOUND, null));
+            } else {
+                results.add(new Item(id, Outcome.STATUS_MISMATCH, CompanyStatus.valueOf(current)));
+            }
+        });
+
+        if (!updatedIds.isEmpty()) {
+            eventPublisher.publishEvent(new CompanyStatusBulkChangedEvent(updatedIds, updatedNames, from, to,
+                    actor, changedAt));
+        }
+        return results;
+    }
+}
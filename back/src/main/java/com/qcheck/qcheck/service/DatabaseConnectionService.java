@@ -3,8 +3,6 @@ package com.qcheck.qcheck.service;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.context.event.ApplicationReadyEvent;
-import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import javax.sql.DataSource;
@@ -18,7 +16,7 @@ import java.sql.SQLException;
  *
  * 주요 기능:
  * 1. 데이터베이스 연결 상태 테스트
- * 2. Spring Boot 애플리케이션 시작 시 자동으로 DB 연결 확인
+ * 2. Spring Boot 애플리케이션 시작 시 DB 연결 확인 (WarmupService 의 워밍업 첫 단계)
  * 3. 연결 실패 시 상세한 문제 해결 가이드 제공
  * 4. 실시간 로그를 통한 연결 상태 모니터링
  *
@@ -142,27 +140,15 @@ public class DatabaseConnectionService {
     }
 
     /**
-     * Spring Boot 애플리케이션이 완전히 시작된 후 자동으로 실행되는 메서드
+     * DB 연결 테스트를 실행하고 결과를 로그로 남기는 메서드
      *
-     * @EventListener(ApplicationReadyEvent.class) 어노테이션:
-     * - Spring Boot의 이벤트 리스너 어노테이션
-     * - ApplicationReadyEvent: 애플리케이션이 완전히 준비되었을 때 발생하는 이벤트
-     * - 모든 빈 초기화, 설정 로드, 서버 시작이 완료된 후에 실행됨
+     * 호출 시점:
+     * - 애플리케이션 기동 시 WarmupService 의 워밍업 첫 단계로 호출됨
+     * - 워밍업 순서: 연결 확인(이 메서드) → 커넥션 풀 채우기 → 쿼리/직렬화 예열
      *
-     * 실행 시점:
-     * 1. Spring 컨텍스트 로드 완료
-     * 2. 모든 @Component, @Service, @Repository 빈 생성 완료
-     * 3. application.properties 설정 적용 완료
-     * 4. 내장 웹서버(Tomcat) 시작 완료
-     * 5. 이 메서드 실행 ← 여기서 DB 연결 테스트!
-     *
-     * 장점:
-     * - 애플리케이션 시작과 동시에 DB 연결 상태 확인
-     * - 문제 발생 시 즉시 로그로 알림
-     * - 수동으로 테스트할 필요 없음
+     * @return boolean 연결 테스트 성공 여부
      */
-    @EventListener(ApplicationReadyEvent.class)
-    public void onApplicationReady() {
+    public boolean checkConnectionOnStartup() {
         // 애플리케이션 시작 완료 알림
         log.info("🚀 Spring Boot 애플리케이션 시작 완료 - DB 연결 테스트 실행");
 
@@ -191,6 +177,7 @@ public class DatabaseConnectionService {
 
         // 테스트 완료 구분선
         log.info("=== PostgreSQL DB 연결 테스트 완료 ===");
+        return connectionResult;
     }
 
     /**
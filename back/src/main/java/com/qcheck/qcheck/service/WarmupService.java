@@ -0,0 +1,230 @@
+package com.qcheck.qcheck.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qcheck.qcheck.controller.CompanyController;
+import com.qcheck.qcheck.dto.CompanyFieldSelection;
+import com.qcheck.qcheck.entity.CompanyStatus;
+import com.qcheck.qcheck.repository.CompanyRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 배포 직후 느린 첫 요청을 없애기 위한 워밍업(예열) 서비스
+ *
+ * 배경:
+ * - 배포 직후에는 JIT 컴파일 전, 커넥션 풀 비어 있음, Hibernate 쿼리 플랜/PreparedStatement 캐시 비어 있음
+ * - 이 상태로 트래픽을 받으면 첫 요청들이 정상 상태보다 몇 배 느림
+ *
+ * 동작 순서 (ApplicationReadyEvent 리스너에서 동기 실행):
+ * 1. DB 연결 확인 (DatabaseConnectionService)
+ * 2. 커넥션 풀을 최소 유휴 개수(minimumIdle)까지 채움
+ * 3. CompanyRepository 의 쿼리 형태별로 설정된 횟수만큼 실행 (목록 형태는 1건으로 제한)
+ * 4. 응답 형식을 JSON 으로 직렬화하여 Jackson 직렬화기 예열
+ *
+ * Readiness 연동:
+ * - Spring Boot 는 ApplicationReadyEvent 리스너가 모두 끝난 뒤 ReadinessState.ACCEPTING_TRAFFIC 을 발행함
+ * - 따라서 이 리스너가 끝날 때까지 /actuator/health/readiness 는 REFUSING_TRAFFIC 상태 유지
+ *
+ * 설정 (application.properties):
+ * - app.warmup.enabled=true : 워밍업 사용 여부 (false 면 연결 확인만 수행)
+ * - app.warmup.iterations=20 : 쿼리/직렬화 반복 횟수
+ *
+ * 메트릭:
+ * - qcheck.warmup.duration (Timer) : 워밍업 전체 소요 시간
+ */
+@Slf4j
+@Service
+public class WarmupService {
+
+    /**
+     * 목록 쿼리 예열 시 결과 수 제한
+     */
+    private static final Limit WARMUP_LIMIT = Limit.of(1);
+
+    @Autowired
+    private DatabaseConnectionService databaseConnectionService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private CompanyController companyController;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 워밍업 사용 여부
+     */
+    @Value("${app.warmup.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 쿼리 형태/직렬화기별 반복 실행 횟수
+     */
+    @Value("${app.warmup.iterations:20}")
+    private int iterations;
+
+    /**
+     * 애플리케이션 준비 완료 시 워밍업 실행
+     *
+     * 이 메서드가 반환된 후에 Readiness 가 ACCEPTING_TRAFFIC 으로 전환됨
+     * 단계별 실패는 경고만 남기고 다음 단계로 진행 (워밍업은 준비 완료를 늦출 뿐 기동을 막지 않음)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        // 1단계: DB 연결 확인 (실패 시 워밍업은 의미 없으므로 건너뜀)
+        boolean connected = databaseConnectionService.checkConnectionOnStartup();
+        if (!enabled || !connected) {
+            log.info("⏭️  워밍업 생략 (enabled={}, connected={})", enabled, connected);
+            return;
+        }
+
+        log.info("🔥 워밍업 시작 - 반복 횟수: {}", iterations);
+        long startNanos = System.nanoTime();
+
+        runPhase("커넥션 풀 채우기", this::fillConnectionPool);
+        runPhase("쿼리 예열", this::warmUpQueries);
+        runPhase("직렬화 예열", this::warmUpSerializers);
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        Timer.builder("qcheck.warmup.duration")
+                .description("애플리케이션 기동 후 워밍업 소요 시간")
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        log.info("🔥 워밍업 완료 - 소요 시간: {} ms", TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+    }
+
+    private void runPhase(String name, Runnable phase) {
+        try {
+            phase.run();
+        } catch (RuntimeException e) {
+            log.warn("   - {} 실패 (건너뜀): {}", name, e.getMessage());
+        }
+    }
+
+    /**
+     * 커넥션 풀을 최소 유휴 개수까지 채움
+     *
+     * HikariCP 는 백그라운드에서 천천히 풀을 채우므로,
+     * minimumIdle 개수만큼 동시에 커넥션을 빌려 실제 연결을 맺고 SELECT 1 로 검증 후 반납
+     */
+    private void fillConnectionPool() {
+        int target = 1;
+        List<Connection> borrowed = new ArrayList<>();
+        try {
+            // DataSource 가 래핑되어 있을 수 있으므로 (QueryRecordingDataSource) unwrap 으로 확인
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                target = dataSource.unwrap(HikariDataSource.class).getMinimumIdle();
+            }
+            for (int i = 0; i < target; i++) {
+                Connection connection = dataSource.getConnection();
+                borrowed.add(connection);
+                try (Statement stmt = connection.createStatement()) {
+                    stmt.execute("SELECT 1");
+                }
+            }
+            log.info("   - 커넥션 풀 채움: {} 개", borrowed.size());
+        } catch (SQLException e) {
+            log.warn("   - 커넥션 풀 채우기 실패 ({} / {}): {}", borrowed.size(), target, e.getMessage());
+        } finally {
+            for (Connection connection : borrowed) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    log.debug("커넥션 반납 실패: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * CompanyRepository 의 쿼리 형태(query shape)별 예열
+     *
+     * 값은 의미 없는 샘플이며, 목적은 JPQL 파싱 결과/쿼리 플랜 캐시와
+     * 드라이버의 서버측 PreparedStatement 준비(prepareThreshold)를 미리 거치게 하는 것
+     *
+     * 테이블 전체를 읽는 목록 형태(findAll, 이름순, 상태별)는 같은 조건에 Limit 1 을 붙인 메서드로 예열
+     * (전체 목록을 반복 조회하면 대량 데이터에서 준비 완료가 수 분 늦어지거나 메모리 부족)
+     */
+    private void warmUpQueries() {
+        String keyword = "warmup";
+        CompanyFieldSelection fields = CompanyFieldSelection.parse("id,name");
+        for (int i = 0; i < iterations; i++) {
+            companyRepository.findAllBy(WARMUP_LIMIT);
+            companyRepository.findById(0L);
+            companyRepository.findByName(keyword);
+            companyRepository.findByNameContaining(keyword);
+            companyRepository.findFieldsByNameContaining(fields, keyword);
+            companyRepository.findAllByOrderByNameAsc(WARMUP_LIMIT);
+            companyRepository.findActiveCompanies(WARMUP_LIMIT);
+            companyRepository.findByNameIgnoreCase(keyword);
+            companyRepository.countByNameContaining(keyword);
+            companyRepository.existsByName(keyword);
+            companyRepository.countActiveCompaniesNative();
+            companyRepository.count();
+            for (CompanyStatus status : CompanyStatus.values()) {
+                companyRepository.findByStatus(status, WARMUP_LIMIT);
+                companyRepository.findByStatusNot(status, WARMUP_LIMIT);
+                companyRepository.findByNameContainingAndStatus(keyword, status);
+                companyRepository.findByStatusOrderByNameAsc(status, WARMUP_LIMIT);
+                companyRepository.countByStatus(status);
+            }
+        }
+        log.info("   - 쿼리 예열 완료");
+    }
+
+    /**
+     * 응답 직렬화 예열
+     *
+     * HTTP 메시지 컨버터와 같은 ObjectMapper 로 직렬화
+     * - 단건/개수 응답은 컨트롤러 메서드 결과
+     * - 목록 응답은 같은 요소 형식(Company, 필드 선택 Map)의 작은 목록 (전체 목록은 직렬화하지 않음)
+     */
+    private void warmUpSerializers() {
+        CompanyFieldSelection fields = CompanyFieldSelection.parse("id,name");
+        for (int i = 0; i < iterations; i++) {
+            serialize(() -> companyRepository.findAllByOrderByNameAsc(WARMUP_LIMIT));
+            serialize(() -> companyRepository.findFieldsByNameContaining(fields, "warmup"));
+            serialize(() -> companyController.getCompanyById(1L).getBody());
+            serialize(companyController::getTotalCompanyCount);
+            for (CompanyStatus status : CompanyStatus.values()) {
+                serialize(() -> companyController.getCompanyCountByStatus(status));
+            }
+        }
+        log.info("   - 직렬화 예열 완료");
+    }
+
+    private void serialize(Supplier<?> response) {
+        try {
+            objectMapper.writeValueAsBytes(response.get());
+        } catch (JsonProcessingException e) {
+            log.warn("   - 직렬화 예열 실패: {}", e.getMessage());
+        }
+    }
+}
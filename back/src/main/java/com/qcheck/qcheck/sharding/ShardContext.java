@@ -0,0 +1,30 @@
+package com.qcheck.qcheck.sharding;
+
+/**
+ * 현재 스레드가 사용할 샤드 번호
+ *
+ * 설정: ShardExecutor 가 샤드 작업 스레드에서 작업(리포지토리 호출 포함) 동안만 설정
+ * 사용: ShardRoutingDataSource 가 커넥션을 얻을 때 이 번호의 샤드로 연결 (없으면 기본 샤드 0)
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * @return 샤드 번호 (샤드 작업 밖이면 null)
+     */
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    static void set(int shard) {
+        CURRENT.set(shard);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,124 @@
+package com.qcheck.qcheck.sharding;
+
+import com.qcheck.qcheck.audit.AuditActorHolder;
+import com.qcheck.qcheck.deadline.QueryDeadline;
+import jakarta.annotation.PreDestroy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * 샤드 작업 스레드에서 작업 실행
+ *
+ * 작업 동안 ShardContext 에 샤드 번호를 설정하므로 그 안에서 얻는 커넥션(JdbcTemplate, TransactionTemplate,
+ * CompanyRepository 호출 포함)은 모두 해당 샤드로 연결됨
+ * 변경 주체(AuditActorHolder)와 쿼리 예산(QueryDeadline)은 작업 스레드로 전달
+ *
+ * 사용처:
+ * - ShardedCompanyRepositoryAspect: 리포지토리 호출 라우팅
+ * - 리포지토리를 거치지 않는 JDBC 작업: 등록(회사명 샤드), 일괄 상태 전환(ID 별 분할), 이력 조회/인원 집계,
+ *   상태 비트맵 인덱스 적재 (샤딩 비활성화 시에는 빈이 없으므로 각 서비스가 그대로 실행)
+ *
+ * 호출 스레드가 트랜잭션 안이어도 작업은 샤드별 새 트랜잭션/커넥션에서 실행되며 호출한 쪽 트랜잭션에는 참여하지 않음
+ */
+public class ShardExecutor {
+
+    private final ShardMap shardMap;
+
+    private final ExecutorService workers;
+
+    public ShardExecutor(ShardMap shardMap, ExecutorService workers) {
+        this.shardMap = shardMap;
+        this.workers = workers;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    public ShardMap shardMap() {
+        return shardMap;
+    }
+
+    /**
+     * 한 샤드에서 실행
+     */
+    public <T> T call(int shard, Callable<T> task) {
+        return unchecked(() -> await(List.of(submit(shard, task))).get(0));
+    }
+
+    /**
+     * 샤드별 작업을 병렬 실행 (결과는 tasks 순서)
+     */
+    public <T> List<T> callEach(Map<Integer, Callable<T>> tasks) {
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+        tasks.forEach((shard, task) -> futures.add(submit(shard, task)));
+        return unchecked(() -> await(futures));
+    }
+
+    /**
+     * 모든 샤드에서 같은 작업을 병렬 실행 (결과는 샤드 순)
+     */
+    public <T> List<T> callAll(Callable<T> task) {
+        List<Future<T>> futures = new ArrayList<>(shardMap.shardCount());
+        for (int shard = 0; shard < shardMap.shardCount(); shard++) {
+            futures.add(submit(shard, task));
+        }
+        return unchecked(() -> await(futures));
+    }
+
+    <T> Future<T> submit(int shard, Callable<T> task) {
+        Callable<T> onShard = () -> {
+            ShardContext.set(shard);
+            try {
+                return task.call();
+            } finally {
+                ShardContext.clear();
+            }
+        };
+        return workers.submit(AuditActorHolder.propagate(QueryDeadline.propagate(onShard)));
+    }
+
+    /**
+     * 모든 작업 결과를 순서대로 대기 (하나라도 실패하면 나머지는 취소하고 원래 예외를 던짐)
+     */
+    static <T> List<T> await(List<Future<T>> futures) throws Throwable {
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+
+    private interface ThrowingSupplier<T> {
+        T get() throws Throwable;
+    }
+
+    /**
+     * 런타임 예외/에러는 그대로, 검사 예외는 IllegalStateException 으로 감싸 던짐
+     */
+    private static <T> T unchecked(ThrowingSupplier<T> supplier) {
+        try {
+            return supplier.get();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("샤드 작업 실패", t);
+        }
+    }
+}
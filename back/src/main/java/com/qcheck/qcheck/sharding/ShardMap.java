@@ -0,0 +1,47 @@
+package com.qcheck.qcheck.sharding;
+
+import java.util.Locale;
+
+/**
+ * 회사 ID / 회사명 → 샤드 번호
+ *
+ * 규칙:
+ * - 회사 ID: id % 샤드 수 (샤드 i 의 company ID 시퀀스는 INCREMENT BY 샤드 수, 나머지 i 로 발급 → ID 만으로 샤드 결정)
+ * - 새 회사(ID 없음): 정규화된 회사명 해시 % 샤드 수 (같은 이름은 항상 같은 샤드에 생성)
+ * - company_emp_hist 는 company_seq 가 회사 ID 이므로 같은 규칙으로 회사와 같은 샤드에 둠
+ *
+ * 샤드 수를 바꾸면 기존 ID 의 위치가 달라지므로 샤드 추가는 데이터 재배치 작업과 함께 진행
+ *
+ * @param shardCount 샤드 수 (기본 샤드 0 포함)
+ */
+public record ShardMap(int shardCount) {
+
+    public ShardMap {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("샤드 수는 1 이상: " + shardCount);
+        }
+    }
+
+    public int shardForId(long id) {
+        return (int) Math.floorMod(id, (long) shardCount);
+    }
+
+    public int shardForName(String name) {
+        return Math.floorMod(nameKey(name).hashCode(), shardCount);
+    }
+
+    /**
+     * 샤드의 ID 시퀀스가 다음에 발급할 값 (after 보다 큰 값 중 나머지가 shard 인 가장 작은 값, 최소 shardCount)
+     */
+    public long nextIdFor(int shard, long after) {
+        long next = Math.max(after + 1, shardCount);
+        return next + Math.floorMod(shard - next, (long) shardCount);
+    }
+
+    /**
+     * DB 함수 company_name_key 와 같은 정규화 (앞뒤 공백 제거, 연속 공백 1개, 소문자)
+     */
+    static String nameKey(String name) {
+        return name.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
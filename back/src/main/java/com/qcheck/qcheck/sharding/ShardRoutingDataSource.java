@@ -0,0 +1,185 @@
+package com.qcheck.qcheck.sharding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 샤드별 DataSource 로 커넥션을 나눠 주는 DataSource
+ *
+ * - ShardContext 에 샤드 번호가 있으면 해당 샤드, 없으면 기본 샤드(0, spring.datasource)
+ * - 리포지토리 밖의 JDBC 작업은 ShardExecutor 안에서 실행해야 해당 샤드로 연결됨 (감사 로그처럼 샤드 번호가 없으면 기본 샤드)
+ */
+@Slf4j
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private static final String SEQUENCE_SQL = "SELECT pg_get_serial_sequence('company', 'id')";
+
+    /**
+     * 증가폭, 마지막 발급값 (아직 발급 전이면 시작값)
+     */
+    private static final String SEQUENCE_STATE_SQL = """
+            SELECT seqincrement, COALESCE(pg_sequence_last_value(seqrelid), seqstart)
+            FROM pg_sequence
+            WHERE seqrelid = ?::regclass
+            """;
+
+    /**
+     * 샤드에서 실행되는 SQL(등록, 일괄 상태 전환, 이력/인원 조회, 인원 집계)이 필요로 하는 스키마 객체 → 존재 확인 SQL
+     */
+    private static final Map<String, String> REQUIRED_SCHEMA = requiredSchema();
+
+    private final List<DataSource> shards;
+
+    private final ShardMap shardMap;
+
+    /**
+     * @param shards 샤드 번호 순 DataSource (0 번이 기본 샤드)
+     */
+    public ShardRoutingDataSource(List<DataSource> shards) {
+        this.shards = List.copyOf(shards);
+        this.shardMap = new ShardMap(shards.size());
+        Map<Object, Object> targets = new HashMap<>();
+        for (int i = 0; i < shards.size(); i++) {
+            targets.put(i, shards.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(0));
+        afterPropertiesSet();
+    }
+
+    public ShardMap shardMap() {
+        return shardMap;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+
+    /**
+     * 샤드마다 company ID 시퀀스가 "INCREMENT BY 샤드 수, 나머지 = 샤드 번호" 로 발급하는지 확인
+     *
+     * @param initialize true 면 맞지 않는 시퀀스를 현재 최대 ID 다음 값부터 그렇게 발급하도록 변경
+     * @throws IllegalStateException 맞지 않는 시퀀스가 있고 initialize 가 false 인 경우
+     */
+    public void verifySequences(boolean initialize) throws SQLException {
+        int count = shardMap.shardCount();
+        for (int shard = 0; shard < count; shard++) {
+            try (Connection connection = shards.get(shard).getConnection();
+                 Statement stmt = connection.createStatement()) {
+                String sequence = queryString(stmt, SEQUENCE_SQL);
+                if (sequence == null) {
+                    throw new IllegalStateException("샤드 " + shard + ": company.id 시퀀스 없음 (스키마 확인)");
+                }
+                long increment;
+                long next;
+                try (PreparedStatement query = connection.prepareStatement(SEQUENCE_STATE_SQL)) {
+                    query.setString(1, sequence);
+                    try (ResultSet rs = query.executeQuery()) {
+                        rs.next();
+                        increment = rs.getLong(1);
+                        next = rs.getLong(2);
+                    }
+                }
+                if (increment == count && Math.floorMod(next, (long) count) == shard) {
+                    continue;
+                }
+                if (!initialize) {
+                    throw new IllegalStateException("샤드 " + shard + ": " + sequence + " 가 INCREMENT BY " + count
+                            + ", 나머지 " + shard + " 로 발급하지 않음 (app.sharding.initialize-sequences=true 로 초기화)");
+                }
+                long maxId = Long.parseLong(queryString(stmt, "SELECT COALESCE(MAX(id), 0) FROM company"));
+                long restart = shardMap.nextIdFor(shard, Math.max(maxId, next));
+                stmt.execute("ALTER SEQUENCE " + sequence + " INCREMENT BY " + count
+                        + " START WITH " + restart + " RESTART WITH " + restart);
+                log.info("🧩 샤드 {} ID 시퀀스 초기화 - {} 부터 {} 씩 증가", shard, restart, count);
+                long misplaced = Long.parseLong(queryString(stmt,
+                        "SELECT COUNT(*) FROM company WHERE id % " + count + " <> " + shard));
+                if (misplaced > 0) {
+                    log.warn("샤드 {}: 다른 샤드로 라우팅되는 기존 회사 {} 건 (id % {} 기준 재배치 필요)", shard, misplaced, count);
+                }
+            }
+        }
+    }
+
+    /**
+     * 샤드 1.. 에 샤드에서 실행되는 SQL 이 필요로 하는 스키마 객체(V6, V7, V10)가 있는지 확인
+     *
+     * 애플리케이션의 Flyway(faststart) / ddl-auto 는 기본 DataSource(샤드 0)에만 적용되므로
+     * 나머지 샤드는 미리 같은 마이그레이션(db/migration) 또는 database_setup.sql 을 적용해 두어야 함
+     *
+     * @throws IllegalStateException 없는 객체가 있는 경우 (샤드별 목록)
+     */
+    public void verifySchema() throws SQLException {
+        List<String> problems = new ArrayList<>();
+        for (int shard = 1; shard < shardMap.shardCount(); shard++) {
+            List<String> missing = new ArrayList<>();
+            try (Connection connection = shards.get(shard).getConnection();
+                 Statement stmt = connection.createStatement()) {
+                for (Map.Entry<String, String> required : REQUIRED_SCHEMA.entrySet()) {
+                    if (!"t".equals(queryString(stmt, required.getValue()))) {
+                        missing.add(required.getKey());
+                    }
+                }
+            }
+            if (!missing.isEmpty()) {
+                problems.add("샤드 " + shard + ": " + String.join(", ", missing));
+            }
+        }
+        if (!problems.isEmpty()) {
+            throw new IllegalStateException("샤드 스키마 누락 (db/migration 을 각 샤드에 적용) - " + String.join(" / ", problems));
+        }
+    }
+
+    @Override
+    public void close() {
+        for (DataSource shard : shards) {
+            if (shard instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("샤드 DataSource 종료 실패: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static Map<String, String> requiredSchema() {
+        Map<String, String> required = new LinkedHashMap<>();
+        required.put("company 테이블", "SELECT to_regclass('company') IS NOT NULL");
+        required.put("company_name_key 테이블 (V6)", "SELECT to_regclass('company_name_key') IS NOT NULL");
+        required.put("company_name_key(text) 함수 (V6)", "SELECT to_regprocedure('company_name_key(text)') IS NOT NULL");
+        required.put("company_emp_hist.period 컬럼 (V7)", """
+                SELECT EXISTS (SELECT 1 FROM pg_attribute
+                               WHERE attrelid = to_regclass('company_emp_hist') AND attname = 'period' AND NOT attisdropped)
+                """);
+        required.put("company_headcount_daily 테이블 (V7)", "SELECT to_regclass('company_headcount_daily') IS NOT NULL");
+        required.put("company_headcount_rollup_state 테이블 (V7)",
+                "SELECT to_regclass('company_headcount_rollup_state') IS NOT NULL");
+        required.put("trg_company_release_name_key 트리거 (V10)", """
+                SELECT EXISTS (SELECT 1 FROM pg_trigger
+                               WHERE tgrelid = to_regclass('company') AND tgname = 'trg_company_release_name_key')
+                """);
+        return Collections.unmodifiableMap(required);
+    }
+
+    private static String queryString(Statement stmt, String sql) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package com.qcheck.qcheck.sharding;
+
+import com.qcheck.qcheck.entity.Company;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * CompanyRepository 샤드 라우팅 Aspect
+ *
+ * 처리 방식 (메서드별):
+ * - 단일 샤드: findById / existsById / deleteById (ID), save / saveAndFlush / delete (엔터티 ID, 새 엔터티는 회사명)
+ * - 샤드별 분할: findAllById / saveAll / saveAllAndFlush / deleteAllById / deleteAll(목록) / deleteAllInBatch(목록)
+ * - 전체 샤드 병렬 조회(scatter-gather) 후 병합:
+ *   - long 반환(count, countByStatus 등): 합계
+ *   - boolean 반환(existsByName): 하나라도 true
+ *   - Optional 반환(findByName): 처음 찾은 값
+ *   - List 반환: 샤드 순으로 이어 붙임, 메서드명에 OrderByNameAsc 가 있으면 이름순(코드 포인트) k-way 병합
+ *     (샤드에서는 같은 인자의 ...OrderByNameCodePoint 메서드(COLLATE "C")를 대신 실행하여 병합과 같은 순서로 받음,
+ *      fields 조회는 name 필드가 있어야 이름순 병합, 없으면 샤드 순)
+ *   - Limit 인자가 있으면 병합 후 다시 Limit 건수로 자름 (샤드마다 최대 Limit 건씩 받음)
+ * - 그 외(Pageable/Sort/Example 인자, getReferenceById 등): UnsupportedOperationException
+ *
+ * 실행 스레드:
+ * 요청 스레드에는 open-in-view EntityManager 가 이미 커넥션을 잡고 있을 수 있으므로 단일 샤드 호출도
+ * 샤드 작업 스레드에서 실행 (작업마다 해당 샤드의 트랜잭션/커넥션을 새로 엶, 결과 엔터티는 준영속 상태)
+ * 변경 주체(AuditActorHolder)와 쿼리 예산(QueryDeadline)은 작업 스레드로 전달 (ShardExecutor)
+ *
+ * 샤드 간 트랜잭션은 없음: 호출마다 샤드별로 커밋되며, 호출한 쪽 트랜잭션에는 참여하지 않음
+ *
+ * 메트릭: qcheck.sharding.calls (Timer, method, fanout=single|multi)
+ */
+@Aspect
+@Order(0)
+public class ShardedCompanyRepositoryAspect {
+
+    private static final Set<String> BY_ID = Set.of("findById", "existsById", "deleteById");
+
+    private static final Set<String> BY_ENTITY = Set.of("save", "saveAndFlush", "delete");
+
+    private static final Set<String> SPLIT_BY_ID = Set.of("findAllById", "deleteAllById");
+
+    private static final Set<String> SPLIT_BY_ENTITY = Set.of("saveAll", "saveAllAndFlush", "deleteAll", "deleteAllInBatch");
+
+    private static final Set<String> UNSUPPORTED = Set.of("getReferenceById", "getById", "getOne", "flush",
+            "findBy", "findOne", "deleteAllByIdInBatch");
+
+    private static final String NAME_ORDER = "OrderByNameAsc";
+
+    private static final String CODE_POINT_ORDER = "OrderByNameCodePoint";
+
+    private final ShardMap shardMap;
+
+    private final ShardExecutor shardExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * ...OrderByNameAsc → 같은 인자의 ...OrderByNameCodePoint 메서드
+     */
+    private final Map<Method, Method> codePointMethods = new ConcurrentHashMap<>();
+
+    public ShardedCompanyRepositoryAspect(ShardExecutor shardExecutor) {
+        this.shardMap = shardExecutor.shardMap();
+        this.shardExecutor = shardExecutor;
+    }
+
+    @Around("target(com.qcheck.qcheck.repository.CompanyRepository)")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        // 샤드 작업 스레드 안의 호출 → 그대로 실행
+        if (ShardContext.current() != null) {
+            return joinPoint.proceed();
+        }
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        String method = signature.getName();
+        Object[] args = joinPoint.getArgs();
+        long start = System.nanoTime();
+        boolean single = false;
+        try {
+            if (UNSUPPORTED.contains(method) || hasUnsupportedArgument(args)) {
+                throw new UnsupportedOperationException("샤딩 환경에서 지원하지 않는 CompanyRepository 호출: " + method);
+            }
+            if (BY_ID.contains(method)) {
+                single = true;
+                return onShard(shardMap.shardForId((Long) args[0]), joinPoint, args);
+            }
+            if (BY_ENTITY.contains(method)) {
+                single = true;
+                return onShard(shardFor((Company) args[0]), joinPoint, args);
+            }
+            if (args.length == 1 && args[0] instanceof Iterable<?> items
+                    && (SPLIT_BY_ID.contains(method) || SPLIT_BY_ENTITY.contains(method))) {
+                Function<Object, Integer> shardOf = SPLIT_BY_ID.contains(method)
+                        ? id -> shardMap.shardForId((Long) id)
+                        : entity -> shardFor((Company) entity);
+                return split(joinPoint, items, shardOf, signature.getReturnType());
+            }
+            if (method.contains(NAME_ORDER)) {
+                Method codePoint = codePointMethod(signature.getMethod());
+                Object repository = joinPoint.getThis();
+                List<Object> results = scatter(() -> invoke(codePoint, repository, args));
+                return limit(merge(method, signature.getReturnType(), results), args);
+            }
+            return limit(merge(method, signature.getReturnType(), scatter(() -> joinPoint.proceed(args))), args);
+        } finally {
+            meterRegistry.timer("qcheck.sharding.calls", "method", method, "fanout", single ? "single" : "multi")
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private int shardFor(Company company) {
+        return company.getId() != null ? shardMap.shardForId(company.getId()) : shardMap.shardForName(company.getName());
+    }
+
+    /**
+     * 인자를 샤드별로 나눠 각 샤드에서 실행 (반환값이 있으면 샤드 순으로 이어 붙임)
+     */
+    private Object split(ProceedingJoinPoint joinPoint, Iterable<?> items, Function<Object, Integer> shardOf,
+                         Class<?> returnType) throws Throwable {
+        Map<Integer, List<Object>> byShard = new LinkedHashMap<>();
+        for (Object item : items) {
+            byShard.computeIfAbsent(shardOf.apply(item), shard -> new ArrayList<>()).add(item);
+        }
+        List<Future<Object>> futures = new ArrayList<>();
+        for (Map.Entry<Integer, List<Object>> entry : byShard.entrySet()) {
+            Object[] shardArgs = {entry.getValue()};
+            futures.add(submit(entry.getKey(), () -> joinPoint.proceed(shardArgs)));
+        }
+        List<Object> results = ShardExecutor.await(futures);
+        return returnType == void.class ? null : concat(results);
+    }
+
+    private Object onShard(int shard, ProceedingJoinPoint joinPoint, Object[] args) throws Throwable {
+        return ShardExecutor.await(List.of(submit(shard, () -> joinPoint.proceed(args)))).get(0);
+    }
+
+    private List<Object> scatter(ShardCall call) throws Throwable {
+        List<Future<Object>> futures = new ArrayList<>(shardMap.shardCount());
+        for (int shard = 0; shard < shardMap.shardCount(); shard++) {
+            futures.add(submit(shard, call));
+        }
+        return ShardExecutor.await(futures);
+    }
+
+    /**
+     * 샤드에서 실행할 호출 (proceed 또는 리포지토리 프록시의 다른 메서드)
+     */
+    private interface ShardCall {
+        Object call() throws Throwable;
+    }
+
+    /**
+     * proceed 는 호출마다 인터셉터 체인을 복제하므로 여러 샤드에서 동시에 호출 가능
+     */
+    private Future<Object> submit(int shard, ShardCall call) {
+        Callable<Object> task = () -> {
+            try {
+                return call.call();
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        };
+        return shardExecutor.submit(shard, task);
+    }
+
+    /**
+     * 이름순 메서드에 대응하는 코드 포인트 순 메서드 (없으면 병합 순서를 보장할 수 없으므로 지원하지 않음)
+     */
+    private Method codePointMethod(Method method) {
+        return codePointMethods.computeIfAbsent(method, nameOrdered -> {
+            String name = nameOrdered.getName().replace(NAME_ORDER, CODE_POINT_ORDER);
+            try {
+                return nameOrdered.getDeclaringClass().getMethod(name, nameOrdered.getParameterTypes());
+            } catch (NoSuchMethodException e) {
+                throw new UnsupportedOperationException("샤딩 환경의 이름순 조회에는 " + name + " 메서드가 필요함: "
+                        + nameOrdered.getName());
+            }
+        });
+    }
+
+    /**
+     * 리포지토리 프록시로 호출 (작업 스레드에는 ShardContext 가 있으므로 이 Aspect 는 그대로 통과)
+     */
+    private static Object invoke(Method method, Object repository, Object[] args) throws Throwable {
+        try {
+            return method.invoke(repository, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Limit 인자가 있으면 병합 결과를 Limit 건수로 자름
+     */
+    private static Object limit(Object merged, Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof Limit limit && limit.isLimited() && merged instanceof List<?> rows
+                    && rows.size() > limit.max()) {
+                return new ArrayList<>(rows.subList(0, limit.max()));
+            }
+        }
+        return merged;
+    }
+
+    private static Object merge(String method, Class<?> returnType, List<Object> results) {
+        if (returnType == long.class || returnType == Long.class) {
+            long sum = 0;
+            for (Object result : results) {
+                sum += (Long) result;
+            }
+            return sum;
+        }
+        if (returnType == boolean.class || returnType == Boolean.class) {
+            return results.contains(Boolean.TRUE);
+        }
+        if (returnType == Optional.class) {
+            return results.stream().map(result -> (Optional<?>) result).filter(Optional::isPresent).findFirst()
+                    .orElse(Optional.empty());
+        }
+        if (returnType == void.class) {
+            return null;
+        }
+        if (List.class.isAssignableFrom(returnType) || returnType == Iterable.class) {
+            return method.contains(NAME_ORDER) ? mergeByName(results) : concat(results);
+        }
+        throw new UnsupportedOperationException("샤드 결과를 병합할 수 없는 반환 형식: " + method + " → " + returnType.getName());
+    }
+
+    private static List<Object> concat(List<Object> results) {
+        List<Object> rows = new ArrayList<>();
+        for (Object result : results) {
+            ((Iterable<?>) result).forEach(rows::add);
+        }
+        return rows;
+    }
+
+    /**
+     * 샤드별로 이름순 정렬된 목록을 k-way 병합
+     *
+     * 비교: 리포지토리의 ORDER BY name COLLATE "C" 와 같은 코드 포인트 순, NULL 은 뒤(PostgreSQL ASC 기본),
+     *       같은 이름은 샤드 순
+     * DB 기본 정렬 규칙(en_US.UTF-8 등)은 OS 로케일 구현마다 달라 Java 에서 재현할 수 없으므로 "C" 로 맞춤
+     */
+    private static List<Object> mergeByName(List<Object> results) {
+        Comparator<Object> byName = Comparator.comparing(ShardedCompanyRepositoryAspect::nameOf,
+                Comparator.nullsLast(ShardedCompanyRepositoryAspect::compareCodePoints));
+
+        record Cursor(List<?> rows, int shard, int index) {
+            Object row() {
+                return rows.get(index);
+            }
+        }
+        PriorityQueue<Cursor> queue = new PriorityQueue<>((a, b) -> {
+            int compared = byName.compare(a.row(), b.row());
+            return compared != 0 ? compared : Integer.compare(a.shard(), b.shard());
+        });
+        int total = 0;
+        for (int shard = 0; shard < results.size(); shard++) {
+            List<?> rows = (List<?>) results.get(shard);
+            total += rows.size();
+            if (!rows.isEmpty()) {
+                queue.add(new Cursor(rows, shard, 0));
+            }
+        }
+        List<Object> merged = new ArrayList<>(total);
+        while (!queue.isEmpty()) {
+            Cursor cursor = queue.poll();
+            merged.add(cursor.row());
+            if (cursor.index() + 1 < cursor.rows().size()) {
+                queue.add(new Cursor(cursor.rows(), cursor.shard(), cursor.index() + 1));
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * 코드 포인트 순 비교 (UTF-8 바이트 순과 같음, String.compareTo 는 UTF-16 단위라 보충 문자에서 다름)
+     */
+    private static int compareCodePoints(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            int ca = a.codePointAt(i);
+            int cb = b.codePointAt(j);
+            if (ca != cb) {
+                return Integer.compare(ca, cb);
+            }
+            i += Character.charCount(ca);
+            j += Character.charCount(cb);
+        }
+        return Integer.compare(a.length() - i, b.length() - j);
+    }
+
+    private static String nameOf(Object row) {
+        if (row instanceof Company company) {
+            return company.getName();
+        }
+        if (row instanceof Map<?, ?> fields && fields.get("name") instanceof String name) {
+            return name;
+        }
+        return null;
+    }
+
+    private static boolean hasUnsupportedArgument(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof org.springframework.data.domain.Pageable
+                    || arg instanceof org.springframework.data.domain.Sort
+                    || arg instanceof org.springframework.data.domain.Example<?>) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
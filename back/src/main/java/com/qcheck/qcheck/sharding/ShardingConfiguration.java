@@ -0,0 +1,122 @@
+package com.qcheck.qcheck.sharding;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * company 테이블 수평 샤딩 설정
+ *
+ * - 기본 DataSource(spring.datasource) 를 샤드 0 으로, app.sharding.shard-urls 의 DB 를 샤드 1.. 로 묶어
+ *   ShardRoutingDataSource 로 교체 (추가 샤드는 기본 풀 설정을 복사하고 URL 만 변경)
+ * - 기동 시 샤드별 company ID 시퀀스 확인 (INCREMENT BY 샤드 수, 나머지 = 샤드 번호)
+ * - 기동 시 샤드 1.. 의 스키마 확인 (Flyway/ddl-auto 는 샤드 0 에만 적용되므로 다른 샤드는 미리 마이그레이션 필요,
+ *   없으면 기동 실패)
+ * - CompanyRepository 에 ShardedCompanyRepositoryAspect 적용
+ *
+ * 리포지토리를 거치지 않는 JDBC 작업은 ShardExecutor 로 샤드를 골라 실행:
+ * - 등록: 회사명 샤드, 일괄 상태 전환: ID 별 샤드로 분할, 이력 조회: 회사 ID 샤드 (전체 조회는 모든 샤드 병합)
+ * - 인원 집계 / 상태 비트맵 인덱스: 샤드마다 실행 후 합침
+ * - 감사 로그(company_audit)는 샤딩하지 않고 기본 샤드에 모음
+ * 디렉터리 스냅샷(app.directory-snapshot.enabled)은 기본 샤드만 읽으므로 함께 켜면 기동 실패
+ *
+ * 설정 (application.properties):
+ * - app.sharding.enabled=false (기본 비활성화)
+ * - app.sharding.shard-urls=jdbc:postgresql://db2:5432/qcheck,jdbc:postgresql://db3:5432/qcheck
+ * - app.sharding.initialize-sequences=false (true 면 시퀀스를 자동 변경, 빈 샤드 구성 시에만 사용)
+ * - app.sharding.worker-threads=0 (0 이면 샤드 수 x 풀 크기)
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class ShardingConfiguration {
+
+    /**
+     * BeanPostProcessor 는 다른 빈보다 먼저 생성되므로 static 메서드
+     *
+     * PriorityOrdered: 쿼리 예산/어드바이저 DataSource 래퍼보다 먼저 적용되어 라우팅이 가장 안쪽에 위치
+     * (래퍼는 샤드와 관계없이 모든 커넥션에 적용)
+     */
+    @Bean
+    public static BeanPostProcessor shardRoutingDataSourcePostProcessor(Environment environment) {
+        return new ShardRoutingPostProcessor(environment);
+    }
+
+    @Bean
+    public ShardMap shardMap(DataSource dataSource, Environment environment) throws SQLException {
+        if (environment.getProperty("app.directory-snapshot.enabled", Boolean.class, false)) {
+            throw new IllegalStateException("디렉터리 스냅샷은 기본 샤드만 읽으므로 샤딩과 함께 사용할 수 없음 "
+                    + "(app.directory-snapshot.enabled=false 로 설정)");
+        }
+        ShardRoutingDataSource routing = dataSource.unwrap(ShardRoutingDataSource.class);
+        routing.verifySchema();
+        routing.verifySequences(environment.getProperty("app.sharding.initialize-sequences", Boolean.class, false));
+        log.info("🧩 company 샤딩 활성화 - 샤드 {} 개", routing.shardMap().shardCount());
+        return routing.shardMap();
+    }
+
+    @Bean
+    public ShardExecutor shardExecutor(ShardMap shardMap, Environment environment) {
+        int threads = environment.getProperty("app.sharding.worker-threads", Integer.class, 0);
+        if (threads <= 0) {
+            threads = shardMap.shardCount()
+                    * environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "company-shard-worker-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        return new ShardExecutor(shardMap, workers);
+    }
+
+    @Bean
+    public ShardedCompanyRepositoryAspect shardedCompanyRepositoryAspect(ShardExecutor shardExecutor) {
+        return new ShardedCompanyRepositoryAspect(shardExecutor);
+    }
+
+    private record ShardRoutingPostProcessor(Environment environment) implements BeanPostProcessor, PriorityOrdered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof HikariDataSource primary)) {
+                return bean;
+            }
+            List<DataSource> shards = new ArrayList<>();
+            shards.add(primary);
+            String[] urls = environment.getProperty("app.sharding.shard-urls", String[].class, new String[0]);
+            for (String url : urls) {
+                if (url.isBlank()) {
+                    continue;
+                }
+                HikariConfig config = new HikariConfig();
+                primary.copyStateTo(config);
+                config.setJdbcUrl(url.strip());
+                config.setPoolName("qcheck-shard-" + shards.size());
+                shards.add(new HikariDataSource(config));
+            }
+            return new ShardRoutingDataSource(shards);
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
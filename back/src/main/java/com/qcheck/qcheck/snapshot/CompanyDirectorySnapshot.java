@@ -0,0 +1,472 @@
+package com.qcheck.qcheck.snapshot;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.qcheck.qcheck.entity.CompanyStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회사 디렉터리(id, name, status) memory-map 스냅샷
+ *
+ * 목적: 읽기 위주 인스턴스에서 /all, /{id}, /status/{status}, /count 를
+ *       DB 조회와 Company 객체 생성 없이 오프힙(매핑된 파일)에서 바로 JSON 으로 응답 (DirectorySnapshotFilter)
+ *
+ * 구성:
+ * - 기준 스냅샷: DirectorySnapshotFile (버전별 파일, 원자적 이동으로 공개, 최신 파일을 매핑)
+ * - 델타: 기준 스냅샷 이후 변경을 DB 에서 주기적으로 가져와 id → 행 맵(overlay)에 보관, 응답 시 id 순으로 병합
+ *
+ * 주기:
+ * - 기동 시: 디렉터리의 최신 스냅샷 파일을 DB 접속 없이 매핑 → 바로 응답 가능
+ * - delta-interval-ms 마다: company.change_xid 와 company_audit 의 DELETE(change_xid) 로 변경분 반영
+ * - rebuild-interval-ms 마다: 새 버전 파일 생성 → 델타 반영 → 교체, 이전 파일 삭제
+ *
+ * 델타 기준은 벽시계가 아니라 커밋 순서 (V9, change_xid = 행을 바꾼 트랜잭션 ID):
+ * 조회 스냅샷의 xmin 보다 작은 트랜잭션은 모두 끝나 그 조회에 보였으므로, 다음 조회는 change_xid >= xmin 만 다시 읽음
+ * → 늦게 커밋된 트랜잭션, 늦게 기록된 감사 DELETE(AuditWriter 비동기 기록, 스필 재적재)도 놓치지 않음
+ *   (같은 행을 다시 반영해도 결과는 같음)
+ *
+ * 제약:
+ * - 응답 필드는 id, name, status 만 포함 (version, 생성/수정 정보 제외)
+ * - 감사 기록 없이 지워진 행(직접 SQL DELETE 등)은 다음 재생성 때 반영 (archive_inactive_companies 는 V8 부터 감사 기록)
+ *
+ * 설정 (application.properties):
+ * - app.directory-snapshot.enabled=false : 사용 여부 (읽기 전용 엣지 인스턴스에서 true)
+ * - app.directory-snapshot.dir=${java.io.tmpdir}/qcheck-directory
+ * - app.directory-snapshot.rebuild-interval-ms=3600000
+ * - app.directory-snapshot.delta-interval-ms=5000
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.directory-snapshot.enabled", havingValue = "true")
+public class CompanyDirectorySnapshot {
+
+    private static final String FILE_PREFIX = "company-directory-";
+
+    private static final byte[] ROW_ID = JsonBytesWriter.ascii("{\"id\":");
+
+    private static final byte[] ROW_NAME = JsonBytesWriter.ascii(",\"name\":\"");
+
+    private static final byte[] ROW_STATUS = JsonBytesWriter.ascii("\",\"status\":\"");
+
+    private static final byte[] ROW_END = JsonBytesWriter.ascii("\"}");
+
+    private static final byte[][] STATUS_NAMES = new byte[CompanyStatus.values().length][];
+
+    static {
+        for (CompanyStatus status : CompanyStatus.values()) {
+            STATUS_NAMES[status.ordinal()] = JsonBytesWriter.ascii(status.name());
+        }
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${app.directory-snapshot.dir:${java.io.tmpdir}/qcheck-directory}")
+    private Path directory;
+
+    @Value("${app.directory-snapshot.rebuild-interval-ms:3600000}")
+    private long rebuildIntervalMillis;
+
+    @Value("${app.directory-snapshot.delta-interval-ms:5000}")
+    private long deltaIntervalMillis;
+
+    /**
+     * 델타 항목 (status 가 null 이면 삭제)
+     */
+    private record Delta(CompanyStatus status, byte[] nameJson) {
+    }
+
+    /**
+     * 응답에 사용하는 현재 상태 (교체 시 통째로 바꿈)
+     *
+     * @param base    매핑된 기준 스냅샷
+     * @param overlay 기준 스냅샷 이후 변경 (델타 스레드만 수정)
+     * @param counts  기준 + 델타를 반영한 상태별 개수
+     */
+    private record View(DirectorySnapshotFile base, ConcurrentSkipListMap<Long, Delta> overlay, long[] counts) {
+    }
+
+    private volatile View view;
+
+    /**
+     * 다음 델타 조회 기준 트랜잭션 ID (직전 조회 스냅샷의 xmin, xid8)
+     */
+    private long watermarkXid;
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * 디렉터리의 최신 스냅샷을 DB 접속 없이 매핑 (손상된 파일은 건너뜀)
+     */
+    @PostConstruct
+    public void openLatest() throws IOException {
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + DirectorySnapshotFile.SUFFIX)) {
+            DirectorySnapshotFile latest = null;
+            for (Path file : files) {
+                try {
+                    DirectorySnapshotFile candidate = DirectorySnapshotFile.open(file);
+                    if (latest == null || candidate.version() > latest.version()) {
+                        latest = candidate;
+                    }
+                } catch (IOException e) {
+                    log.warn("스냅샷 파일 무시 ({}): {}", file, e.getMessage());
+                }
+            }
+            if (latest != null) {
+                swap(latest, new ConcurrentSkipListMap<>(), latest.watermarkXid());
+                log.info("📦 디렉터리 스냅샷 매핑 - 버전: {}, {} 건", latest.version(), latest.rowCount());
+            }
+        }
+    }
+
+    /**
+     * 기동 완료 후 델타/재생성 주기 시작 (스냅샷이 없으면 바로 생성)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRefresh() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "company-directory-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long firstRebuild = view == null ? 0 : rebuildIntervalMillis;
+        scheduler.scheduleWithFixedDelay(this::rebuildQuietly, firstRebuild, rebuildIntervalMillis, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::pullDeltasQuietly, deltaIntervalMillis, deltaIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stopRefresh() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public boolean isReady() {
+        return view != null;
+    }
+
+    public long version() {
+        View current = view;
+        return current == null ? 0 : current.base().version();
+    }
+
+    // ========================================
+    // 조회 (DirectorySnapshotFilter 에서 호출)
+    // ========================================
+
+    public long count() {
+        long total = 0;
+        for (long count : view.counts()) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * 회사 1건의 JSON (없거나 삭제되었으면 null)
+     *
+     * 존재 확인과 기록을 같은 View 에서 한 번에 처리 (그 사이 교체되어도 다른 버전의 행을 섞지 않음)
+     */
+    public byte[] findOne(long id) throws IOException {
+        View current = view;
+        Delta delta = current.overlay().get(id);
+        int row = delta == null ? current.base().indexOf(id) : -1;
+        if (delta != null ? delta.status() == null : row < 0) {
+            return null;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        JsonBytesWriter writer = new JsonBytesWriter(out);
+        if (delta != null) {
+            writeDelta(id, delta, writer);
+        } else {
+            writeBase(current.base(), row, writer);
+        }
+        writer.flush();
+        return out.toByteArray();
+    }
+
+    public void writeAll(OutputStream out) throws IOException {
+        writeRows(view, -1, out);
+    }
+
+    public void writeByStatus(CompanyStatus status, OutputStream out) throws IOException {
+        writeRows(view, status.ordinal(), out);
+    }
+
+    /**
+     * 기준 스냅샷과 델타를 id 순으로 병합하여 JSON 배열로 기록
+     *
+     * @param status 상태 필터 (ordinal, -1 이면 전체)
+     */
+    private void writeRows(View current, int status, OutputStream out) throws IOException {
+        DirectorySnapshotFile base = current.base();
+        Iterator<Map.Entry<Long, Delta>> deltas = current.overlay().entrySet().iterator();
+        Map.Entry<Long, Delta> delta = deltas.hasNext() ? deltas.next() : null;
+        JsonBytesWriter writer = new JsonBytesWriter(out);
+        boolean first = true;
+
+        writer.write('[');
+        int rows = base.rowCount();
+        for (int row = 0; row < rows; row++) {
+            long id = base.id(row);
+            // 이 행보다 앞선 델타(새로 생긴 행)를 먼저 기록하고, 같은 id 의 델타가 있으면 기준 행 대신 사용
+            boolean replaced = false;
+            while (delta != null && delta.getKey() <= id) {
+                first = writeDeltaRow(delta, status, first, writer);
+                replaced = delta.getKey() == id;
+                delta = deltas.hasNext() ? deltas.next() : null;
+            }
+            if (replaced || (status >= 0 && base.status(row) != status)) {
+                continue;
+            }
+            if (!first) {
+                writer.write(',');
+            }
+            first = false;
+            writeBase(base, row, writer);
+        }
+        while (delta != null) {
+            first = writeDeltaRow(delta, status, first, writer);
+            delta = deltas.hasNext() ? deltas.next() : null;
+        }
+        writer.write(']');
+        writer.flush();
+    }
+
+    private boolean writeDeltaRow(Map.Entry<Long, Delta> entry, int status, boolean first, JsonBytesWriter writer)
+            throws IOException {
+        Delta delta = entry.getValue();
+        if (delta.status() == null || (status >= 0 && delta.status().ordinal() != status)) {
+            return first;
+        }
+        if (!first) {
+            writer.write(',');
+        }
+        writeDelta(entry.getKey(), delta, writer);
+        return false;
+    }
+
+    private void writeBase(DirectorySnapshotFile base, int row, JsonBytesWriter writer) throws IOException {
+        writer.write(ROW_ID);
+        writer.writeLong(base.id(row));
+        writer.write(ROW_NAME);
+        writer.write(base.buffer(), base.nameStart(row), base.nameLength(row));
+        writer.write(ROW_STATUS);
+        writer.write(STATUS_NAMES[base.status(row)]);
+        writer.write(ROW_END);
+    }
+
+    private void writeDelta(long id, Delta delta, JsonBytesWriter writer) throws IOException {
+        writer.write(ROW_ID);
+        writer.writeLong(id);
+        writer.write(ROW_NAME);
+        writer.write(delta.nameJson());
+        writer.write(ROW_STATUS);
+        writer.write(STATUS_NAMES[delta.status().ordinal()]);
+        writer.write(ROW_END);
+    }
+
+    // ========================================
+    // 재생성 / 델타
+    // ========================================
+
+    /**
+     * 새 버전 스냅샷 생성 후 교체
+     *
+     * REPEATABLE READ 읽기 전용 트랜잭션 한 개에서 스냅샷 xmin, COUNT(*), 전체 행을 읽으므로 세 값이 같은 스냅샷 기준
+     */
+    public synchronized void rebuild() throws SQLException, IOException {
+        long start = System.nanoTime();
+        long version = Math.max(System.currentTimeMillis(), version() + 1);
+        Path target = directory.resolve(FILE_PREFIX + version + DirectorySnapshotFile.SUFFIX);
+        long snapshotXid;
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            connection.setReadOnly(true);
+            try {
+                snapshotXid = snapshotXmin(connection);
+                int rowCount;
+                try (Statement stmt = connection.createStatement();
+                     ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM company")) {
+                    rs.next();
+                    rowCount = rs.getInt(1);
+                }
+                try (DirectorySnapshotFile.Writer writer = DirectorySnapshotFile.create(target, rowCount);
+                     PreparedStatement stmt = connection.prepareStatement("SELECT id, name, status FROM company ORDER BY id")) {
+                    // PostgreSQL 은 autocommit 이 꺼져 있어야 fetchSize 단위로 스트리밍함
+                    stmt.setFetchSize(10_000);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            writer.add(rs.getLong(1), CompanyStatus.valueOf(rs.getString(3)), encodeName(rs.getString(2)));
+                        }
+                    }
+                    writer.finish(version, snapshotXid);
+                }
+            } finally {
+                connection.rollback();
+                connection.setReadOnly(false);
+                connection.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+                connection.setAutoCommit(true);
+            }
+        }
+
+        DirectorySnapshotFile file = DirectorySnapshotFile.open(target);
+        ConcurrentSkipListMap<Long, Delta> overlay = new ConcurrentSkipListMap<>();
+        long nextWatermark = pullDeltas(overlay, snapshotXid);
+        swap(file, overlay, nextWatermark);
+        deleteOlderThan(file);
+        log.info("📦 디렉터리 스냅샷 생성 - 버전: {}, {} 건, {} ms", version, file.rowCount(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * 현재 기준 스냅샷에 델타 반영
+     */
+    public synchronized void pullDeltas() throws SQLException {
+        View current = view;
+        if (current == null) {
+            return;
+        }
+        long nextWatermark = pullDeltas(current.overlay(), watermarkXid);
+        swap(current.base(), current.overlay(), nextWatermark);
+    }
+
+    /**
+     * sinceXid 이상인 트랜잭션의 변경을 overlay 에 반영하고 다음 기준(이번 조회 스냅샷의 xmin)을 반환
+     *
+     * REPEATABLE READ 트랜잭션 한 개에서 xmin 과 두 조회가 같은 스냅샷을 봄
+     * 삭제(company_audit DELETE)를 먼저 반영하고, 현재 company 에 있는 행으로 덮어씀 (행이 있으면 살아 있는 것)
+     */
+    private long pullDeltas(ConcurrentSkipListMap<Long, Delta> overlay, long sinceXid) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            connection.setReadOnly(true);
+            try {
+                long xmin = snapshotXmin(connection);
+                try (PreparedStatement stmt = connection.prepareStatement(
+                        "SELECT company_id FROM company_audit WHERE action = 'DELETE' AND change_xid >= CAST(? AS xid8)")) {
+                    stmt.setString(1, Long.toUnsignedString(sinceXid));
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            overlay.put(rs.getLong(1), new Delta(null, null));
+                        }
+                    }
+                }
+                try (PreparedStatement stmt = connection.prepareStatement(
+                        "SELECT id, name, status FROM company WHERE change_xid >= CAST(? AS xid8)")) {
+                    stmt.setString(1, Long.toUnsignedString(sinceXid));
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            overlay.put(rs.getLong(1),
+                                    new Delta(CompanyStatus.valueOf(rs.getString(3)), encodeName(rs.getString(2))));
+                        }
+                    }
+                }
+                return xmin;
+            } finally {
+                connection.rollback();
+                connection.setReadOnly(false);
+                connection.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    private void swap(DirectorySnapshotFile base, ConcurrentSkipListMap<Long, Delta> overlay, long nextWatermark) {
+        long[] counts = new long[CompanyStatus.values().length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = base.count(i);
+        }
+        for (Map.Entry<Long, Delta> entry : overlay.entrySet()) {
+            int row = base.indexOf(entry.getKey());
+            if (row >= 0) {
+                counts[base.status(row)]--;
+            }
+            if (entry.getValue().status() != null) {
+                counts[entry.getValue().status().ordinal()]++;
+            }
+        }
+        view = new View(base, overlay, counts);
+        watermarkXid = nextWatermark;
+    }
+
+    /**
+     * 이전 버전 파일 삭제 (매핑은 GC 때 해제되며, 리눅스에서는 매핑 중에도 삭제 가능)
+     */
+    private void deleteOlderThan(DirectorySnapshotFile current) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FILE_PREFIX + "*")) {
+            for (Path file : files) {
+                if (!file.equals(current.path())) {
+                    try {
+                        Files.deleteIfExists(file);
+                    } catch (IOException e) {
+                        log.debug("이전 스냅샷 삭제 보류 ({}): {}", file, e.getMessage());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.debug("스냅샷 디렉터리 조회 실패: {}", e.getMessage());
+        }
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (SQLException | IOException | RuntimeException e) {
+            log.warn("디렉터리 스냅샷 생성 실패 - 이전 스냅샷 유지: {}", e.getMessage());
+        }
+    }
+
+    private void pullDeltasQuietly() {
+        try {
+            pullDeltas();
+        } catch (SQLException | RuntimeException e) {
+            log.warn("디렉터리 스냅샷 델타 반영 실패: {}", e.getMessage());
+        }
+    }
+
+    private static byte[] encodeName(String name) {
+        return JsonStringEncoder.getInstance().quoteAsUTF8(name);
+    }
+
+    /**
+     * 현재 트랜잭션 스냅샷의 xmin (이보다 작은 트랜잭션은 모두 끝남, xid8 는 64비트라 long 에 담음)
+     */
+    private static long snapshotXmin(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT pg_snapshot_xmin(pg_current_snapshot())::text")) {
+            rs.next();
+            return Long.parseUnsignedLong(rs.getString(1));
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package com.qcheck.qcheck.snapshot;
+
+import com.qcheck.qcheck.entity.CompanyStatus;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 회사 디렉터리(id, name, status) 컬럼형 스냅샷 파일
+ *
+ * 파일 구조 (리틀 엔디언):
+ * <pre>
+ * [헤더 64 bytes]
+ *   0  magic            long  "QCDIRSNP"
+ *   8  format           int   파일 형식 버전 (현재 2, 1 은 watermark 가 DB 시각)
+ *   12 rowCount         int   행 수
+ *   16 snapshotVersion  long  스냅샷 버전 (생성 시각 epoch ms, 클수록 최신)
+ *   24 watermark        long  스냅샷 기준 트랜잭션 xmin (xid8, 이 값 이상인 트랜잭션의 변경은 델타로 반영)
+ *   32 statusOffset     int
+ *   36 nameIndexOffset  int
+ *   40 nameDataOffset   int
+ *   44 counts           int[3] 상태별 행 수 (CompanyStatus 순서)
+ * [id 컬럼]       long[rowCount]      오름차순 → 이진 탐색
+ * [status 컬럼]   byte[rowCount]      CompanyStatus.ordinal()
+ * [name 인덱스]   int[rowCount + 1]   name 데이터 내 시작 위치 (4바이트 정렬)
+ * [name 데이터]   JSON 이스케이프된 UTF-8 (응답에 그대로 복사)
+ * </pre>
+ *
+ * 읽기: 파일 전체를 읽기 전용으로 memory-map 하고 절대 위치 get 으로만 접근 (힙 객체 생성 없음)
+ * 쓰기: Writer 가 임시 파일에 기록한 뒤 원자적 이동(ATOMIC_MOVE)으로 공개
+ */
+final class DirectorySnapshotFile {
+
+    static final String SUFFIX = ".snap";
+
+    private static final long MAGIC = 0x504E535249444351L;
+
+    private static final int FORMAT = 2;
+
+    private static final int HEADER_SIZE = 64;
+
+    private final Path path;
+
+    private final MappedByteBuffer buffer;
+
+    private final int rowCount;
+
+    private final long version;
+
+    private final long watermarkXid;
+
+    private final int statusOffset;
+
+    private final int nameIndexOffset;
+
+    private final int nameDataOffset;
+
+    private final long[] counts = new long[CompanyStatus.values().length];
+
+    private DirectorySnapshotFile(Path path, MappedByteBuffer buffer) throws IOException {
+        this.path = path;
+        this.buffer = buffer;
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.capacity() < HEADER_SIZE || buffer.getLong(0) != MAGIC || buffer.getInt(8) != FORMAT) {
+            throw new IOException("스냅샷 파일 형식이 아님: " + path);
+        }
+        this.rowCount = buffer.getInt(12);
+        this.version = buffer.getLong(16);
+        this.watermarkXid = buffer.getLong(24);
+        this.statusOffset = buffer.getInt(32);
+        this.nameIndexOffset = buffer.getInt(36);
+        this.nameDataOffset = buffer.getInt(40);
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buffer.getInt(44 + i * 4);
+        }
+        if ((long) nameDataOffset + buffer.getInt(nameIndexOffset + rowCount * 4) != buffer.capacity()) {
+            throw new IOException("스냅샷 파일 크기 불일치: " + path);
+        }
+    }
+
+    /**
+     * 스냅샷 파일을 읽기 전용으로 memory-map (채널을 닫아도 매핑은 유지됨)
+     */
+    static DirectorySnapshotFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("스냅샷 파일이 2GB 를 넘음: " + path);
+            }
+            return new DirectorySnapshotFile(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    static Writer create(Path target, int rowCount) throws IOException {
+        return new Writer(target, rowCount);
+    }
+
+    Path path() {
+        return path;
+    }
+
+    int rowCount() {
+        return rowCount;
+    }
+
+    long version() {
+        return version;
+    }
+
+    long watermarkXid() {
+        return watermarkXid;
+    }
+
+    long count(int status) {
+        return counts[status];
+    }
+
+    long id(int row) {
+        return buffer.getLong(HEADER_SIZE + row * 8);
+    }
+
+    int status(int row) {
+        return buffer.get(statusOffset + row);
+    }
+
+    int nameStart(int row) {
+        return nameDataOffset + buffer.getInt(nameIndexOffset + row * 4);
+    }
+
+    int nameLength(int row) {
+        return buffer.getInt(nameIndexOffset + (row + 1) * 4) - buffer.getInt(nameIndexOffset + row * 4);
+    }
+
+    ByteBuffer buffer() {
+        return buffer;
+    }
+
+    /**
+     * id 컬럼 이진 탐색
+     *
+     * @return 행 번호, 없으면 -1
+     */
+    int indexOf(long id) {
+        int low = 0;
+        int high = rowCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long value = id(mid);
+            if (value < id) {
+                low = mid + 1;
+            } else if (value > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 스냅샷 파일 작성기
+     *
+     * 행 수를 먼저 알아야 컬럼 위치가 정해지므로 생성 시 rowCount 를 받음 (같은 트랜잭션의 COUNT(*))
+     * id/status/name 인덱스는 위치 지정 쓰기, name 데이터는 별도 임시 파일에 순차 기록 후 마지막에 이어 붙임
+     * finish() 전에 닫히면 임시 파일은 삭제되고 대상 파일은 만들어지지 않음
+     */
+    static final class Writer implements Closeable {
+
+        private static final int CHUNK = 64 * 1024;
+
+        private final Path target;
+
+        private final Path tempFile;
+
+        private final Path nameFile;
+
+        private final FileChannel channel;
+
+        private final FileChannel names;
+
+        private final int expectedRows;
+
+        private final int statusOffset;
+
+        private final int nameIndexOffset;
+
+        private final int nameDataOffset;
+
+        private final ByteBuffer idChunk = ByteBuffer.allocateDirect(CHUNK).order(ByteOrder.LITTLE_ENDIAN);
+
+        private final ByteBuffer statusChunk = ByteBuffer.allocateDirect(CHUNK).order(ByteOrder.LITTLE_ENDIAN);
+
+        private final ByteBuffer indexChunk = ByteBuffer.allocateDirect(CHUNK).order(ByteOrder.LITTLE_ENDIAN);
+
+        private final ByteBuffer nameChunk = ByteBuffer.allocateDirect(CHUNK);
+
+        private final long[] counts = new long[CompanyStatus.values().length];
+
+        private long idPosition;
+
+        private long statusPosition;
+
+        private long indexPosition;
+
+        private int rows;
+
+        private int nameBytes;
+
+        private long lastId = Long.MIN_VALUE;
+
+        private boolean finished;
+
+        private Writer(Path target, int rowCount) throws IOException {
+            this.target = target;
+            this.tempFile = target.resolveSibling(target.getFileName() + ".tmp");
+            this.nameFile = target.resolveSibling(target.getFileName() + ".names.tmp");
+            this.expectedRows = rowCount;
+            long statusStart = HEADER_SIZE + rowCount * 8L;
+            long indexStart = (statusStart + rowCount + 3) & ~3L;
+            long dataStart = indexStart + (rowCount + 1) * 4L;
+            if (dataStart > Integer.MAX_VALUE) {
+                throw new IOException("행 수가 너무 많음: " + rowCount);
+            }
+            this.statusOffset = (int) statusStart;
+            this.nameIndexOffset = (int) indexStart;
+            this.nameDataOffset = (int) dataStart;
+            this.idPosition = HEADER_SIZE;
+            this.statusPosition = statusStart;
+            this.indexPosition = indexStart;
+            this.channel = FileChannel.open(tempFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.names = FileChannel.open(nameFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+
+        /**
+         * 행 추가 (id 오름차순)
+         *
+         * @param nameJson JSON 이스케이프된 UTF-8 회사명 (따옴표 제외)
+         */
+        void add(long id, CompanyStatus status, byte[] nameJson) throws IOException {
+            if (rows == expectedRows) {
+                throw new IOException("예상 행 수 초과: " + expectedRows);
+            }
+            if (id <= lastId) {
+                throw new IOException("id 가 오름차순이 아님: " + id);
+            }
+            if ((long) nameDataOffset + nameBytes + nameJson.length > Integer.MAX_VALUE) {
+                throw new IOException("스냅샷 파일이 2GB 를 넘음");
+            }
+            lastId = id;
+
+            if (!idChunk.hasRemaining()) {
+                idPosition = flush(idChunk, idPosition);
+            }
+            idChunk.putLong(id);
+            if (!statusChunk.hasRemaining()) {
+                statusPosition = flush(statusChunk, statusPosition);
+            }
+            statusChunk.put((byte) status.ordinal());
+            putIndex(nameBytes);
+
+            for (int offset = 0; offset < nameJson.length; ) {
+                if (!nameChunk.hasRemaining()) {
+                    flushNames();
+                }
+                int length = Math.min(nameChunk.remaining(), nameJson.length - offset);
+                nameChunk.put(nameJson, offset, length);
+                offset += length;
+            }
+            nameBytes += nameJson.length;
+            counts[status.ordinal()]++;
+            rows++;
+        }
+
+        /**
+         * 헤더 기록, 디스크 동기화 후 대상 파일로 원자적 이동
+         */
+        void finish(long version, long watermarkXid) throws IOException {
+            if (rows != expectedRows) {
+                throw new IOException("행 수 불일치: " + rows + " / " + expectedRows);
+            }
+            putIndex(nameBytes);
+            flush(idChunk, idPosition);
+            flush(statusChunk, statusPosition);
+            flush(indexChunk, indexPosition);
+            flushNames();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putLong(MAGIC).putInt(FORMAT).putInt(rows).putLong(version).putLong(watermarkXid)
+                    .putInt(statusOffset).putInt(nameIndexOffset).putInt(nameDataOffset);
+            for (long count : counts) {
+                header.putInt((int) count);
+            }
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+
+            long transferred = 0;
+            while (transferred < nameBytes) {
+                transferred += channel.transferFrom(names.position(transferred), nameDataOffset + transferred,
+                        nameBytes - transferred);
+            }
+            channel.force(true);
+            channel.close();
+            names.close();
+            Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            Files.deleteIfExists(nameFile);
+            finished = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (finished) {
+                return;
+            }
+            channel.close();
+            names.close();
+            Files.deleteIfExists(tempFile);
+            Files.deleteIfExists(nameFile);
+        }
+
+        private void putIndex(int value) throws IOException {
+            if (!indexChunk.hasRemaining()) {
+                indexPosition = flush(indexChunk, indexPosition);
+            }
+            indexChunk.putInt(value);
+        }
+
+        private long flush(ByteBuffer chunk, long position) throws IOException {
+            chunk.flip();
+            while (chunk.hasRemaining()) {
+                position += channel.write(chunk, position);
+            }
+            chunk.clear();
+            return position;
+        }
+
+        private void flushNames() throws IOException {
+            nameChunk.flip();
+            while (nameChunk.hasRemaining()) {
+                names.write(nameChunk);
+            }
+            nameChunk.clear();
+        }
+    }
+}
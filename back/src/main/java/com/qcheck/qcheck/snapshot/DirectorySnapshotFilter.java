@@ -0,0 +1,107 @@
+package com.qcheck.qcheck.snapshot;
+
+import com.qcheck.qcheck.entity.CompanyStatus;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 디렉터리 조회 요청을 스냅샷에서 바로 응답하는 필터
+ *
+ * 대상 (GET, 스냅샷 준비 후):
+ * - /api/companies/all
+ * - /api/companies/{id}
+ * - /api/companies/status/{status}
+ * - /api/companies/count
+ * 그 외 요청, 스냅샷 준비 전, 잘못된 경로 변수는 CompanyController 로 그대로 전달
+ *
+ * 응답 헤더 X-Directory-Snapshot 에 스냅샷 버전을 표시
+ */
+@Component
+@ConditionalOnProperty(name = "app.directory-snapshot.enabled", havingValue = "true")
+public class DirectorySnapshotFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Directory-Snapshot";
+
+    private static final String PREFIX = "/api/companies/";
+
+    @Autowired
+    private CompanyDirectorySnapshot snapshot;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // 쿼리 파라미터(fields= 등)가 있으면 컨트롤러가 처리
+        return !"GET".equals(request.getMethod()) || request.getQueryString() != null || !snapshot.isReady();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith(PREFIX)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String rest = path.substring(PREFIX.length());
+
+        if (rest.equals("all")) {
+            prepare(response).writeAll(response.getOutputStream());
+        } else if (rest.equals("count")) {
+            prepare(response);
+            response.getOutputStream().print(snapshot.count());
+        } else if (rest.startsWith("status/") && isStatus(rest.substring("status/".length()))) {
+            prepare(response).writeByStatus(CompanyStatus.valueOf(rest.substring("status/".length())), response.getOutputStream());
+        } else if (isId(rest)) {
+            byte[] row = snapshot.findOne(Long.parseLong(rest));
+            if (row != null) {
+                prepare(response);
+                response.setContentLength(row.length);
+                response.getOutputStream().write(row);
+            } else {
+                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                response.setHeader(HEADER, Long.toString(snapshot.version()));
+            }
+        } else {
+            chain.doFilter(request, response);
+        }
+    }
+
+    private CompanyDirectorySnapshot prepare(HttpServletResponse response) {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HEADER, Long.toString(snapshot.version()));
+        return snapshot;
+    }
+
+    private static boolean isStatus(String value) {
+        for (CompanyStatus status : CompanyStatus.values()) {
+            if (status.name().equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Long 범위 안의 숫자만 (그 외는 컨트롤러의 400 처리에 맡김)
+     */
+    private static boolean isId(String value) {
+        if (value.isEmpty() || value.length() > 18) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -51,6 +51,9 @@ COMMENT ON DATABASE qcheck IS 'QCheck 품질 관리 SaaS 애플리케이션 데
 -- -----------------------------------------------------
 -- 5. Company 테이블 생성
 -- -----------------------------------------------------
+-- 참고: status 기준 LIST 파티셔닝 및 장기 비활성 회사 보관(archive)은
+--       db/migration/V2__partition_company_by_status.sql 참고 (프루닝 확인: db/partition_pruning_check.sql)
+--       보관 시 감사 로그(company_audit) DELETE 기록은 db/migration/V8__archive_inactive_companies_audit.sql
 
 -- 고객사 (COMPANY) 를 저장하는 메인 테이블
 CREATE TABLE IF NOT EXISTS company (
@@ -60,6 +63,8 @@ CREATE TABLE IF NOT EXISTS company (
     name            VARCHAR(100) NOT NULL,
     -- 고객사 상태: 열거형 값 (ACTIVE, INACTIVE, SUSPENDED)
     status          VARCHAR(20) NOT NULL CHECK (status IN ('ACTIVE', 'INACTIVE', 'SUSPENDED')),
+    -- 낙관적 잠금 버전: 수정 시마다 1 증가 (JPA @Version, 일괄 상태 전환)
+    version         BIGINT NOT NULL DEFAULT 0,
     -- 생성 시간: 자동 입력
     created_at  TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,    
     -- 생성자: 기본값 SYSTEM
@@ -121,16 +126,127 @@ CREATE TABLE IF NOT EXISTS company_emp_hist (
     CONSTRAINT uq_company_emp UNIQUE (company_seq, emp_seq, start_date)
 );
 
+-- 고객사 변경 감사 로그 테이블 (AuditWriter 가 비동기 일괄 기록, db/migration/V3__company_audit.sql 과 동일)
+CREATE TABLE IF NOT EXISTS company_audit (
+    -- 기본키: 자동 증가 정수
+    audit_seq   BIGSERIAL PRIMARY KEY,
+    -- 변경된 고객사 ID
+    company_id  BIGINT NOT NULL,
+    -- 변경 종류
+    action      VARCHAR(10) NOT NULL CHECK (action IN ('INSERT', 'UPDATE', 'DELETE')),
+    -- 변경 후 고객사명 / 상태
+    name        VARCHAR(100),
+    status      VARCHAR(20),
+    -- 변경 주체: emp_id 또는 SYSTEM
+    actor       VARCHAR(50) NOT NULL,
+    -- 변경 일시
+    changed_at  TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- 정규화된 회사명 선점 테이블 (POST /api/companies 멱등 등록, db/migration/V6__company_name_key.sql 과 동일)
+-- company 는 status 파티션 테이블이라 회사명 전체 고유 인덱스를 직접 만들 수 없으므로 별도 테이블의 기본키로 고유성 보장
+CREATE OR REPLACE FUNCTION company_name_key(name TEXT) RETURNS TEXT
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE
+AS $$ SELECT lower(regexp_replace(btrim(name), '\s+', ' ', 'g')) $$;
+
+CREATE TABLE IF NOT EXISTS company_name_key (
+    -- 정규화된 회사명 (앞뒤 공백 제거 + 연속 공백 1개 + 소문자)
+    name_key        VARCHAR(100) PRIMARY KEY,
+    -- 이름을 선점한 회사 ID
+    company_id      BIGINT NOT NULL UNIQUE,
+    -- 선점한 등록 요청의 Idempotency-Key
+    idempotency_key VARCHAR(100),
+    created_at      TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_company_name_key_idempotency ON company_name_key (idempotency_key)
+    WHERE idempotency_key IS NOT NULL;
+
+-- 회사 삭제 시 같은 트랜잭션에서 이름 선점 해제 (보관/직접 SQL 삭제 포함, db/migration/V10__company_name_key_release_trigger.sql 과 동일)
+CREATE OR REPLACE FUNCTION company_release_name_key() RETURNS TRIGGER AS $$
+BEGIN
+    DELETE FROM company_name_key k
+    USING deleted_company d
+    WHERE k.company_id = d.id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_company_release_name_key ON company;
+CREATE TRIGGER trg_company_release_name_key
+    AFTER DELETE ON company
+    REFERENCING OLD TABLE AS deleted_company
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION company_release_name_key();
+
+-- 소속 이력 기간(daterange) + 일별 인원 집계 (이력 조회 API, db/migration/V7__company_emp_hist_period.sql 과 동일)
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE company_emp_hist
+    ADD COLUMN IF NOT EXISTS period DATERANGE
+        GENERATED ALWAYS AS (daterange(start_date, end_date, '[]')) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_company_emp_hist_period ON company_emp_hist USING gist (company_seq, period);
+CREATE INDEX IF NOT EXISTS idx_company_emp_hist_changed_at ON company_emp_hist ((COALESCE(updated_at, created_at)));
+
+-- 회사별 인원이 바뀐 날만 저장 (CompanyHeadcountRollup 이 갱신)
+CREATE TABLE IF NOT EXISTS company_headcount_daily (
+    company_seq  BIGINT NOT NULL,
+    -- 변경일
+    day          DATE   NOT NULL,
+    -- 이날 소속 시작 수 / 소속이 끝난 수
+    joined_count INT    NOT NULL,
+    left_count   INT    NOT NULL,
+    -- 이날 기준 인원 (다음 변경일 전날까지 유지)
+    headcount    INT    NOT NULL,
+    PRIMARY KEY (company_seq, day)
+);
+
+CREATE TABLE IF NOT EXISTS company_headcount_rollup_state (
+    id           SMALLINT PRIMARY KEY CHECK (id = 1),
+    -- 마지막 집계 트랜잭션 시작 시각
+    refreshed_to TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- 커밋 순서 기준 변경분 표시: 행을 바꾼 트랜잭션 ID (디렉터리 스냅샷 델타, db/migration/V9__company_change_xid.sql 과 동일)
+ALTER TABLE company ADD COLUMN IF NOT EXISTS change_xid xid8;
+ALTER TABLE company_audit ADD COLUMN IF NOT EXISTS change_xid xid8;
+ALTER TABLE company_audit ALTER COLUMN change_xid SET DEFAULT pg_current_xact_id();
+
+CREATE OR REPLACE FUNCTION company_set_change_xid() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.change_xid := pg_current_xact_id();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_company_change_xid ON company;
+CREATE TRIGGER trg_company_change_xid
+    BEFORE INSERT OR UPDATE ON company
+    FOR EACH ROW
+    EXECUTE FUNCTION company_set_change_xid();
+
 -- -----------------------------------------------------
 -- 6. 인덱스 생성
 -- 9.28 HS 보류요청:인덱스 사용까지 좋은 방법인거 같으나 , 현재로써 컬럼 10개 이내와 데이터 조회 건수 100만건 아래라 사용 의미 미미하다 생각돼서 보류하는게 좋다고 생각함
+-- 참고: 실제 필요 여부는 GET /actuator/queryadvisor 의 recommendations (누락/미사용 인덱스 + 예상 이득) 로 판단
 -- -----------------------------------------------------
 -- 고객사명으로 검색 성능 향상
 CREATE INDEX IF NOT EXISTS idx_company_name ON company(name);
 
+-- 샤딩 시 이름순 목록 정렬 (ORDER BY name COLLATE "C", db/migration/V11__company_name_c_collation_index.sql 과 동일)
+CREATE INDEX IF NOT EXISTS idx_company_name_c ON company (name COLLATE "C");
+
 -- 상태별 조회 성능 향상
 CREATE INDEX IF NOT EXISTS idx_company_status ON company(status);
 
+-- 장기 비활성 회사 보관 대상 조회 (db/migration/V5__company_change_tracking_indexes.sql 과 동일)
+CREATE INDEX IF NOT EXISTS idx_company_changed_at ON company ((COALESCE(updated_at, created_at)));
+
+-- 변경분(델타) 조회 (디렉터리 스냅샷, db/migration/V9__company_change_xid.sql 과 동일)
+CREATE INDEX IF NOT EXISTS idx_company_change_xid ON company (change_xid);
+CREATE INDEX IF NOT EXISTS idx_company_audit_delete_change_xid ON company_audit (change_xid) WHERE action = 'DELETE';
+
 -- -----------------------------------------------------
 -- 7. 테이블 주석 추가
 -- -----------------------------------------------------
@@ -139,6 +255,7 @@ COMMENT ON TABLE company             IS '고객사 정보 테이블';
 COMMENT ON COLUMN company.id         IS '고객사 고유 식별자 (기본키)';
 COMMENT ON COLUMN company.name       IS '고객사명 (최대 100자)';
 COMMENT ON COLUMN company.status     IS '고객사 상태 (ACTIVE: 활성, INACTIVE: 비활성, SUSPENDED: 일시중단)';
+COMMENT ON COLUMN company.version    IS '낙관적 잠금 버전 (수정 시마다 1 증가)';
 COMMENT ON COLUMN company.created_at IS '생성 일시';
 COMMENT ON COLUMN company.created_ep IS '생성자';
 COMMENT ON COLUMN company.updated_at IS '수정 일시';
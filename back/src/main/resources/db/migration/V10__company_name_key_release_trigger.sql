@@ -0,0 +1,30 @@
+-- =====================================================
+-- V10: 회사 삭제 시 이름 선점 해제 (트리거)
+-- =====================================================
+-- 목적: 선점 해제를 애플리케이션 이벤트(CompanyChangedEvent DELETE)에만 맡기면
+--       archive_inactive_companies, 직접 SQL DELETE 로 지운 회사의 이름이 company_name_key 에 남아 다시 등록할 수 없음
+--       → company 삭제와 같은 트랜잭션에서 DB 가 선점을 해제
+--
+-- 문장 단위 AFTER DELETE 트리거 + 전이 테이블(deleted_company): 대량 삭제(보관)도 DELETE 1문장으로 해제
+-- 파티션 테이블(V2)의 루트에 만든 문장 트리거이므로 모든 파티션의 삭제 행이 전이 테이블에 담기고,
+-- 상태 변경으로 행이 다른 파티션으로 옮겨지는 UPDATE 에는 실행되지 않음
+
+CREATE OR REPLACE FUNCTION company_release_name_key() RETURNS TRIGGER AS $$
+BEGIN
+    DELETE FROM company_name_key k
+    USING deleted_company d
+    WHERE k.company_id = d.id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_company_release_name_key ON company;
+CREATE TRIGGER trg_company_release_name_key
+    AFTER DELETE ON company
+    REFERENCING OLD TABLE AS deleted_company
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION company_release_name_key();
+
+-- 이미 남아 있는 선점(지워진 회사의 이름) 정리
+DELETE FROM company_name_key k
+WHERE NOT EXISTS (SELECT 1 FROM company c WHERE c.id = k.company_id);
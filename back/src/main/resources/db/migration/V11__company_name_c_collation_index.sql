@@ -0,0 +1,11 @@
+-- =====================================================
+-- V11: 회사명 이름순 조회용 "C" 정렬 인덱스
+-- =====================================================
+-- 목적: 샤딩 시 이름순 목록은 샤드마다 ORDER BY name COLLATE "C" (코드 포인트 순, ...OrderByNameCodePoint 메서드)로
+--       조회하여 애플리케이션에서 같은 순서로 병합
+--       (DB 기본 정렬 규칙(en_US.UTF-8 등)은 OS 로케일 구현에 따라 달라 Java 에서 똑같이 재현할 수 없음)
+--       기본 정렬 규칙의 idx_company_name 으로는 COLLATE "C" 정렬을 처리할 수 없으므로 별도 인덱스 추가
+--
+-- 샤딩하지 않으면 이름순 목록은 기존대로 DB 기본 정렬 규칙을 사용하므로 이 인덱스는 쓰이지 않음
+
+CREATE INDEX IF NOT EXISTS idx_company_name_c ON company (name COLLATE "C");
@@ -0,0 +1,46 @@
+-- =====================================================
+-- V1: QCheck 기준 스키마 (Flyway 기준선)
+-- =====================================================
+-- 목적: faststart 프로파일에서 ddl-auto=update 대신 사용하는 버전 관리 스키마
+-- 기준: Company 엔터티 매핑(id, name, status) + database_setup.sql 의 관리 컬럼
+-- 기존 DB 는 spring.flyway.baseline-on-migrate=true 로 이 버전을 건너뜀
+
+-- 고객사 메인 테이블
+CREATE TABLE IF NOT EXISTS company (
+    id          BIGSERIAL PRIMARY KEY,
+    name        VARCHAR(100) NOT NULL,
+    status      VARCHAR(20) NOT NULL CHECK (status IN ('ACTIVE', 'INACTIVE', 'SUSPENDED')),
+    created_at  TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    created_ep  VARCHAR(50) NOT NULL DEFAULT 'TEST',
+    updated_at  TIMESTAMP WITH TIME ZONE DEFAULT NULL,
+    updated_ep  VARCHAR(50) DEFAULT NULL
+);
+
+-- 사원(사용자) 메인 테이블
+CREATE TABLE IF NOT EXISTS emp (
+    emp_seq     BIGSERIAL PRIMARY KEY,
+    emp_id      VARCHAR(50) NOT NULL UNIQUE,
+    emp_pw      VARCHAR(255) NOT NULL,
+    emp_nm      VARCHAR(100) NOT NULL,
+    use_yn      VARCHAR(2) NOT NULL DEFAULT 'Y',
+    created_at  TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    created_ep  VARCHAR(50) NOT NULL DEFAULT 'SYSTEM',
+    updated_at  TIMESTAMP WITH TIME ZONE DEFAULT NULL,
+    updated_ep  VARCHAR(50) DEFAULT NULL
+);
+
+-- 고객사-사용자 이력(소속) 테이블
+CREATE TABLE IF NOT EXISTS company_emp_hist (
+    hist_seq    BIGSERIAL PRIMARY KEY,
+    company_seq BIGINT NOT NULL,
+    emp_seq     BIGINT NOT NULL,
+    start_date  DATE NOT NULL DEFAULT CURRENT_DATE,
+    end_date    DATE DEFAULT NULL,
+    created_at  TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    created_ep  VARCHAR(50) NOT NULL DEFAULT 'SYSTEM',
+    updated_at  TIMESTAMP WITH TIME ZONE DEFAULT NULL,
+    updated_ep  VARCHAR(50) DEFAULT NULL,
+    CONSTRAINT fk_company FOREIGN KEY (company_seq) REFERENCES company(id),
+    CONSTRAINT fk_emp FOREIGN KEY (emp_seq) REFERENCES emp(emp_seq),
+    CONSTRAINT uq_company_emp UNIQUE (company_seq, emp_seq, start_date)
+);
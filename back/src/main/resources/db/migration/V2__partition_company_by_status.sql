@@ -0,0 +1,97 @@
+-- =====================================================
+-- V2: company 테이블 status 기준 LIST 파티셔닝
+-- =====================================================
+-- 목적: 대부분의 조회가 ACTIVE 회사만 대상으로 하므로 (findActiveCompanies, findByStatus(ACTIVE),
+--       countActiveCompaniesNative), ACTIVE 행만 담긴 작은 파티션을 스캔/캐시하도록 분리
+--       INACTIVE/SUSPENDED 행이 쌓여도 활성 조회 비용은 늘어나지 않음
+--
+-- 변경 사항:
+-- 1. company → PARTITION BY LIST (status), 파티션 company_active / company_inactive / company_suspended
+-- 2. 기본키 (id) → (id, status)  (파티션 키가 기본키에 포함되어야 하는 PostgreSQL 제약)
+--    id 는 시퀀스로만 발급되므로 실제 유일성은 유지됨, JPA 매핑(@Id id)은 그대로 동작
+-- 3. 상태 변경(UPDATE status)은 PostgreSQL 이 행을 해당 파티션으로 자동 이동
+-- 4. company_emp_hist.fk_company 제거 (파티션 테이블의 (id) 단독 참조 불가)
+-- 5. 장기 비활성 회사 보관(archive) 테이블과 함수 추가
+
+-- -----------------------------------------------------
+-- 1. 기존 테이블 보존 및 참조 제거
+-- -----------------------------------------------------
+ALTER TABLE company_emp_hist DROP CONSTRAINT IF EXISTS fk_company;
+ALTER TABLE company RENAME TO company_unpartitioned;
+
+-- ID 시퀀스 (기존 BIGSERIAL/IDENTITY 시퀀스와 무관하게 현재 최대값 다음부터 발급)
+CREATE SEQUENCE company_id_part_seq;
+SELECT setval('company_id_part_seq', COALESCE((SELECT MAX(id) FROM company_unpartitioned), 0) + 1, false);
+
+-- -----------------------------------------------------
+-- 2. 파티션 테이블 생성
+-- -----------------------------------------------------
+CREATE TABLE company (
+    id          BIGINT NOT NULL DEFAULT nextval('company_id_part_seq'),
+    name        VARCHAR(100) NOT NULL,
+    status      VARCHAR(20) NOT NULL CHECK (status IN ('ACTIVE', 'INACTIVE', 'SUSPENDED')),
+    created_at  TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    created_ep  VARCHAR(50) NOT NULL DEFAULT 'TEST',
+    updated_at  TIMESTAMP WITH TIME ZONE DEFAULT NULL,
+    updated_ep  VARCHAR(50) DEFAULT NULL,
+    CONSTRAINT pk_company PRIMARY KEY (id, status)
+) PARTITION BY LIST (status);
+
+ALTER SEQUENCE company_id_part_seq OWNED BY company.id;
+
+CREATE TABLE company_active    PARTITION OF company FOR VALUES IN ('ACTIVE');
+CREATE TABLE company_inactive  PARTITION OF company FOR VALUES IN ('INACTIVE');
+CREATE TABLE company_suspended PARTITION OF company FOR VALUES IN ('SUSPENDED');
+
+-- -----------------------------------------------------
+-- 3. 데이터 이전
+-- -----------------------------------------------------
+INSERT INTO company (id, name, status, created_at, created_ep, updated_at, updated_ep)
+SELECT id, name, status, created_at, created_ep, updated_at, updated_ep
+FROM company_unpartitioned;
+
+DROP TABLE company_unpartitioned;
+
+COMMENT ON TABLE company                   IS '고객사 정보 테이블 (status 기준 LIST 파티션)';
+COMMENT ON TABLE company_active            IS '고객사 파티션: ACTIVE';
+COMMENT ON TABLE company_inactive          IS '고객사 파티션: INACTIVE';
+COMMENT ON TABLE company_suspended         IS '고객사 파티션: SUSPENDED';
+
+-- -----------------------------------------------------
+-- 4. 장기 비활성 회사 보관(archive)
+-- -----------------------------------------------------
+-- 운영 테이블에서 제거된 회사 보관용 (파티션 아님, 조회 API 대상 아님)
+CREATE TABLE company_archive (
+    id          BIGINT PRIMARY KEY,
+    name        VARCHAR(100) NOT NULL,
+    status      VARCHAR(20) NOT NULL,
+    created_at  TIMESTAMP WITH TIME ZONE,
+    created_ep  VARCHAR(50) NOT NULL,
+    updated_at  TIMESTAMP WITH TIME ZONE,
+    updated_ep  VARCHAR(50),
+    archived_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE company_archive IS '장기 비활성 고객사 보관 테이블';
+
+-- 마지막 변경(updated_at, 없으면 created_at) 이후 inactive_for 이상 지난 INACTIVE 회사를 보관 테이블로 이동
+-- DELETE 조건에 status 상수가 있으므로 company_inactive 파티션만 스캔
+-- 사용 예: SELECT archive_inactive_companies(INTERVAL '1 year');
+CREATE OR REPLACE FUNCTION archive_inactive_companies(inactive_for INTERVAL)
+RETURNS BIGINT AS $$
+DECLARE
+    moved_count BIGINT;
+BEGIN
+    WITH moved AS (
+        DELETE FROM company
+        WHERE status = 'INACTIVE'
+          AND COALESCE(updated_at, created_at) < CURRENT_TIMESTAMP - inactive_for
+        RETURNING id, name, status, created_at, created_ep, updated_at, updated_ep
+    )
+    INSERT INTO company_archive (id, name, status, created_at, created_ep, updated_at, updated_ep)
+    SELECT id, name, status, created_at, created_ep, updated_at, updated_ep FROM moved;
+
+    GET DIAGNOSTICS moved_count = ROW_COUNT;
+    RETURN moved_count;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,24 @@
+-- =====================================================
+-- V3: 고객사 변경 감사(audit) 테이블
+-- =====================================================
+-- 목적: Company 변경(INSERT/UPDATE/DELETE)과 변경 주체를 기록
+-- 기록 방식: AuditWriter 가 메모리 큐에 모은 항목을 다중 행 INSERT 로 비동기 일괄 기록
+-- 쓰기 전용(append-only) 테이블이므로 인덱스는 조회 패턴이 생길 때 추가
+
+CREATE TABLE IF NOT EXISTS company_audit (
+    audit_seq   BIGSERIAL PRIMARY KEY,
+    company_id  BIGINT NOT NULL,
+    action      VARCHAR(10) NOT NULL CHECK (action IN ('INSERT', 'UPDATE', 'DELETE')),
+    name        VARCHAR(100),
+    status      VARCHAR(20),
+    actor       VARCHAR(50) NOT NULL,
+    changed_at  TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+COMMENT ON TABLE company_audit             IS '고객사 변경 감사 로그';
+COMMENT ON COLUMN company_audit.company_id IS '변경된 고객사 ID';
+COMMENT ON COLUMN company_audit.action     IS '변경 종류 (INSERT, UPDATE, DELETE)';
+COMMENT ON COLUMN company_audit.name       IS '변경 후 고객사명';
+COMMENT ON COLUMN company_audit.status     IS '변경 후 고객사 상태';
+COMMENT ON COLUMN company_audit.actor      IS '변경 주체 (emp_id 또는 SYSTEM)';
+COMMENT ON COLUMN company_audit.changed_at IS '변경 일시';
@@ -0,0 +1,10 @@
+-- =====================================================
+-- V4: company 낙관적 잠금 버전 컬럼
+-- =====================================================
+-- 목적: Company.version (@Version) 매핑
+--       JPA 수정과 일괄 상태 전환(UPDATE ... version = version + 1)이 같은 버전으로 충돌을 감지
+-- 파티션 테이블에 추가하면 모든 파티션에 함께 추가됨
+
+ALTER TABLE company ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN company.version IS '낙관적 잠금 버전 (수정 시마다 1 증가)';
@@ -0,0 +1,11 @@
+-- =====================================================
+-- V5: 변경분(델타) 조회용 인덱스
+-- =====================================================
+-- 목적: CompanyDirectorySnapshot 이 기준 스냅샷 이후 변경만 주기적으로 조회
+--       SELECT ... FROM company WHERE COALESCE(updated_at, created_at) >= ?
+--       SELECT company_id FROM company_audit WHERE action = 'DELETE' AND changed_at >= ?
+-- 파티션 테이블에 만든 인덱스는 모든 파티션에 함께 생성됨
+
+CREATE INDEX IF NOT EXISTS idx_company_changed_at ON company ((COALESCE(updated_at, created_at)));
+
+CREATE INDEX IF NOT EXISTS idx_company_audit_delete_changed_at ON company_audit (changed_at) WHERE action = 'DELETE';
@@ -0,0 +1,39 @@
+-- =====================================================
+-- V6: 정규화된 회사명 고유 키 (멱등 등록)
+-- =====================================================
+-- 목적: POST /api/companies 등록을 INSERT ... ON CONFLICT ... RETURNING 1문장으로 처리
+--       (existsByName 확인 + save 2번 왕복과 동시 요청 시 중복 생성 문제 제거)
+--
+-- company 는 status 기준 파티션 테이블(V2)이라 파티션 키가 빠진 고유 인덱스(회사명 전체 고유)를 만들 수 없으므로,
+-- 정규화된 회사명을 기본키로 하는 별도 테이블에 "이름 선점" 행을 두고 이 기본키를 고유 인덱스로 사용
+--
+-- 정규화: 앞뒤 공백 제거 + 연속 공백 1개로 + 소문자 (예: "  Tech   Corp " → "tech corp")
+-- 멱등 키: 클라이언트가 보낸 Idempotency-Key 헤더 (같은 키의 재요청은 처음 결과를 그대로 반환)
+
+CREATE OR REPLACE FUNCTION company_name_key(name TEXT) RETURNS TEXT
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE
+AS $$ SELECT lower(regexp_replace(btrim(name), '\s+', ' ', 'g')) $$;
+
+CREATE TABLE IF NOT EXISTS company_name_key (
+    name_key        VARCHAR(100) PRIMARY KEY,
+    company_id      BIGINT NOT NULL UNIQUE,
+    idempotency_key VARCHAR(100),
+    created_at      TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE company_name_key                  IS '정규화된 회사명 선점 (회사명 전체 고유 보장)';
+COMMENT ON COLUMN company_name_key.name_key        IS '정규화된 회사명 (company_name_key(name))';
+COMMENT ON COLUMN company_name_key.company_id      IS '이름을 선점한 회사 ID';
+COMMENT ON COLUMN company_name_key.idempotency_key IS '선점한 등록 요청의 Idempotency-Key (없으면 NULL)';
+COMMENT ON COLUMN company_name_key.created_at      IS '선점 일시';
+
+-- 멱등 키로 선점 행 조회 (같은 키의 동시 재전송이 오류 없이 REPLAYED 가 되도록 고유 제약 대신 일반 인덱스)
+CREATE INDEX IF NOT EXISTS idx_company_name_key_idempotency ON company_name_key (idempotency_key)
+    WHERE idempotency_key IS NOT NULL;
+
+-- 기존 회사 이름 선점 (정규화 결과가 같은 중복 이름은 가장 작은 id 가 선점)
+INSERT INTO company_name_key (name_key, company_id)
+SELECT DISTINCT ON (company_name_key(name)) company_name_key(name), id
+FROM company
+ORDER BY company_name_key(name), id
+ON CONFLICT DO NOTHING;
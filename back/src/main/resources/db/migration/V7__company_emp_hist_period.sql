@@ -0,0 +1,51 @@
+-- =====================================================
+-- V7: 소속 이력 기간 인덱스 + 일별 인원 집계
+-- =====================================================
+-- 목적: "X 일 기준 회사별 인원", "기간 내 입사/퇴사" 조회를 이력 전체 스캔 없이 처리
+--
+-- 1. company_emp_hist.period: 소속 기간 daterange (start_date ~ end_date, 양 끝 포함, end_date NULL 이면 무기한)
+--    - start_date/end_date 로 계산되는 STORED 생성 컬럼이므로 기존 INSERT/COPY 는 그대로 동작
+--    - (company_seq, period) GiST 인덱스: period @> 날짜 (해당 일 소속), period && 기간 (기간과 겹침)
+--    - bigint 를 GiST 에 함께 넣기 위해 btree_gist 확장 사용 (PostgreSQL 13+ 신뢰 확장 → DB 소유자가 설치 가능)
+-- 2. company_headcount_daily: 회사별 인원이 바뀐 날만 저장 (입사 수, 퇴사 수, 그날 기준 인원)
+--    - X 일 인원 = X 이전 마지막 변경일의 headcount (기본키 역방향 인덱스 1회 조회)
+--    - CompanyHeadcountRollup 이 변경된 회사만 주기적으로 다시 계산
+-- 3. company_headcount_rollup_state: 마지막 집계 기준 시각 (다음 증분 갱신 기준)
+--
+-- 주의: 생성 컬럼 추가는 company_emp_hist 전체를 다시 씀 (대용량이면 점검 시간에 적용)
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE company_emp_hist
+    ADD COLUMN IF NOT EXISTS period DATERANGE
+        GENERATED ALWAYS AS (daterange(start_date, end_date, '[]')) STORED;
+
+COMMENT ON COLUMN company_emp_hist.period IS '소속 기간 (start_date ~ end_date 포함, 생성 컬럼)';
+
+CREATE INDEX IF NOT EXISTS idx_company_emp_hist_period ON company_emp_hist USING gist (company_seq, period);
+
+-- 증분 집계 대상(변경된 이력) 조회
+CREATE INDEX IF NOT EXISTS idx_company_emp_hist_changed_at ON company_emp_hist ((COALESCE(updated_at, created_at)));
+
+CREATE TABLE IF NOT EXISTS company_headcount_daily (
+    company_seq  BIGINT NOT NULL,
+    day          DATE   NOT NULL,
+    joined_count INT    NOT NULL,
+    left_count   INT    NOT NULL,
+    headcount    INT    NOT NULL,
+    PRIMARY KEY (company_seq, day)
+);
+
+COMMENT ON TABLE company_headcount_daily               IS '회사별 일별 인원 집계 (인원이 바뀐 날만 저장)';
+COMMENT ON COLUMN company_headcount_daily.day          IS '변경일';
+COMMENT ON COLUMN company_headcount_daily.joined_count IS '이날 소속 시작 수';
+COMMENT ON COLUMN company_headcount_daily.left_count   IS '이날 소속이 끝난 수 (전날이 end_date)';
+COMMENT ON COLUMN company_headcount_daily.headcount    IS '이날 기준 인원 (다음 변경일 전날까지 유지)';
+
+CREATE TABLE IF NOT EXISTS company_headcount_rollup_state (
+    id           SMALLINT PRIMARY KEY CHECK (id = 1),
+    refreshed_to TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+COMMENT ON TABLE company_headcount_rollup_state IS '일별 인원 집계 상태 (1행)';
+COMMENT ON COLUMN company_headcount_rollup_state.refreshed_to IS '마지막 집계 트랜잭션 시작 시각';
@@ -0,0 +1,34 @@
+-- =====================================================
+-- V8: 장기 비활성 회사 보관 시 감사 로그 기록
+-- =====================================================
+-- 목적: archive_inactive_companies (V2) 는 SQL 로 직접 DELETE 하므로 CompanyChangedEvent 가 발행되지 않아
+--       감사 로그에 삭제가 남지 않았음 → 보관한 회사마다 company_audit 에 DELETE 행을 같은 트랜잭션에서 기록
+--       (actor = 'ARCHIVE', 디렉터리 스냅샷의 델타 조회도 이 DELETE 행으로 삭제를 반영)
+--
+-- 주의: 실행 중인 애플리케이션의 메모리 상태는 이벤트를 받지 못함
+--       보관 후에는 상태 비트맵 인덱스 재적재, 디렉터리 스냅샷 재구성, 응답 캐시 만료가 이어져야 최신 상태가 됨
+--       (재시작하거나 각 컴포넌트의 주기적 재적재/재구성을 기다림)
+
+-- 사용 예: SELECT archive_inactive_companies(INTERVAL '1 year');
+CREATE OR REPLACE FUNCTION archive_inactive_companies(inactive_for INTERVAL)
+RETURNS BIGINT AS $$
+DECLARE
+    moved_count BIGINT;
+BEGIN
+    WITH moved AS (
+        DELETE FROM company
+        WHERE status = 'INACTIVE'
+          AND COALESCE(updated_at, created_at) < CURRENT_TIMESTAMP - inactive_for
+        RETURNING id, name, status, created_at, created_ep, updated_at, updated_ep
+    ), archived AS (
+        INSERT INTO company_archive (id, name, status, created_at, created_ep, updated_at, updated_ep)
+        SELECT id, name, status, created_at, created_ep, updated_at, updated_ep FROM moved
+    ), audited AS (
+        INSERT INTO company_audit (company_id, action, name, status, actor, changed_at)
+        SELECT id, 'DELETE', name, status, 'ARCHIVE', CURRENT_TIMESTAMP FROM moved
+    )
+    SELECT COUNT(*) INTO moved_count FROM moved;
+
+    RETURN moved_count;
+END;
+$$ LANGUAGE plpgsql;
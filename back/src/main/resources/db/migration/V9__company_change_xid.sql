@@ -0,0 +1,45 @@
+-- =====================================================
+-- V9: 커밋 순서 기준 변경분(델타) 표시
+-- =====================================================
+-- 목적: CompanyDirectorySnapshot 델타 조회가 벽시계(COALESCE(updated_at, created_at) >= 기준 - 겹침)를 쓰면
+--       겹침 시간보다 늦게 커밋된 트랜잭션, 늦게 기록되는 감사 DELETE(AuditWriter 비동기 기록, 스필 재적재)를 놓침
+--       → 행을 바꾼 트랜잭션 ID(xid8)를 함께 저장하고, 조회 스냅샷의 xmin 을 다음 기준으로 사용
+--
+-- 델타 조회:
+--   SELECT ... FROM company       WHERE change_xid >= 직전 xmin
+--   SELECT ... FROM company_audit WHERE action = 'DELETE' AND change_xid >= 직전 xmin
+--   xmin(pg_snapshot_xmin(pg_current_snapshot())) 보다 작은 트랜잭션은 모두 끝났으므로 직전 조회에 이미 보였고,
+--   xmin 이상인 트랜잭션은 커밋 시각과 관계없이 다음 조회에서 다시 읽음
+--
+-- company: BEFORE INSERT OR UPDATE 행 트리거가 change_xid 설정 (JPA, 일괄 전환, 멱등 등록, 직접 SQL 모두 포함)
+-- company_audit: 기본값으로 기록 트랜잭션 ID 설정 (보관 함수 V8 의 DELETE 행 포함)
+-- 기존 행은 NULL 로 둠 (테이블 재작성 없음, 스냅샷 파일 형식이 바뀌어 첫 기동 시 새로 생성하므로 필요 없음)
+
+ALTER TABLE company ADD COLUMN IF NOT EXISTS change_xid xid8;
+
+ALTER TABLE company_audit ADD COLUMN IF NOT EXISTS change_xid xid8;
+ALTER TABLE company_audit ALTER COLUMN change_xid SET DEFAULT pg_current_xact_id();
+
+COMMENT ON COLUMN company.change_xid       IS '마지막으로 행을 추가/수정한 트랜잭션 ID (델타 조회용)';
+COMMENT ON COLUMN company_audit.change_xid IS '감사 행을 기록한 트랜잭션 ID (델타 조회용)';
+
+CREATE OR REPLACE FUNCTION company_set_change_xid() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.change_xid := pg_current_xact_id();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_company_change_xid ON company;
+CREATE TRIGGER trg_company_change_xid
+    BEFORE INSERT OR UPDATE ON company
+    FOR EACH ROW
+    EXECUTE FUNCTION company_set_change_xid();
+
+-- 파티션 테이블에 만든 인덱스는 모든 파티션에 함께 생성됨
+CREATE INDEX IF NOT EXISTS idx_company_change_xid ON company (change_xid);
+CREATE INDEX IF NOT EXISTS idx_company_audit_delete_change_xid ON company_audit (change_xid) WHERE action = 'DELETE';
+
+-- V5 의 감사 DELETE 시각 인덱스는 델타 조회에만 쓰였으므로 제거
+-- (idx_company_changed_at 은 archive_inactive_companies 의 보관 대상 조회에도 쓰이므로 유지)
+DROP INDEX IF EXISTS idx_company_audit_delete_changed_at;
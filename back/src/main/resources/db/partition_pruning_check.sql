@@ -0,0 +1,66 @@
+-- =====================================================
+-- company 파티션 프루닝(partition pruning) 확인 스크립트
+-- =====================================================
+-- 목적: CompanyRepository 의 상태 조회 쿼리들이 필요한 파티션만 스캔하는지 실행 계획으로 확인
+-- 사용법: psql -U postgres -d qcheck -f partition_pruning_check.sql
+-- 전제: V2__partition_company_by_status.sql 적용 완료
+--
+-- 판단 기준:
+-- - 상수 조건 (계획 시점 프루닝): 계획에 company_active 등 대상 파티션만 나타남
+-- - 바인드 파라미터 (실행 시점 프루닝): 일반 계획(generic plan)에서 "Subplans Removed: N" 표시
+--   Hibernate 는 PreparedStatement 를 사용하므로 반복 실행 시 일반 계획이 선택될 수 있어 함께 확인
+
+-- -----------------------------------------------------
+-- 1. 상수 조건 쿼리
+-- -----------------------------------------------------
+-- findActiveCompanies(): SELECT c FROM Company c WHERE c.status = 'ACTIVE'
+-- 기대: Seq Scan on company_active 만 존재
+EXPLAIN (COSTS OFF) SELECT id, name, status FROM company WHERE status = 'ACTIVE';
+
+-- countActiveCompaniesNative()
+-- 기대: Aggregate → Seq Scan on company_active
+EXPLAIN (COSTS OFF) SELECT COUNT(*) FROM company WHERE status = 'ACTIVE';
+
+-- archive_inactive_companies() 내부 DELETE
+-- 기대: Delete on company → company_inactive 만 대상
+EXPLAIN (COSTS OFF) DELETE FROM company WHERE status = 'INACTIVE' AND COALESCE(updated_at, created_at) < CURRENT_TIMESTAMP - INTERVAL '1 year';
+
+-- -----------------------------------------------------
+-- 2. 바인드 파라미터 쿼리 (일반 계획 강제)
+-- -----------------------------------------------------
+SET plan_cache_mode = force_generic_plan;
+
+-- findByStatus(status)
+-- 기대: Append, Subplans Removed: 2, Seq Scan on company_active
+PREPARE find_by_status(varchar) AS SELECT id, name, status FROM company WHERE status = $1;
+EXPLAIN (ANALYZE, COSTS OFF, TIMING OFF) EXECUTE find_by_status('ACTIVE');
+
+-- findByStatusOrderByNameAsc(status)
+-- 기대: Sort → Append, Subplans Removed: 2
+PREPARE find_by_status_sorted(varchar) AS SELECT id, name, status FROM company WHERE status = $1 ORDER BY name;
+EXPLAIN (ANALYZE, COSTS OFF, TIMING OFF) EXECUTE find_by_status_sorted('ACTIVE');
+
+-- findByStatusOrderByNameCodePoint(status) (샤딩 시 findByStatusOrderByNameAsc 대신 샤드마다 실행)
+-- 기대: Append, Subplans Removed: 2, idx_company_name_c 인덱스 스캔 또는 Sort
+PREPARE find_by_status_code_point(varchar) AS
+    SELECT id, name, status FROM company WHERE status = $1 ORDER BY name COLLATE "C";
+EXPLAIN (ANALYZE, COSTS OFF, TIMING OFF) EXECUTE find_by_status_code_point('ACTIVE');
+
+-- countByStatus(status)
+-- 기대: Aggregate → Append, Subplans Removed: 2
+PREPARE count_by_status(varchar) AS SELECT COUNT(id) FROM company WHERE status = $1;
+EXPLAIN (ANALYZE, COSTS OFF, TIMING OFF) EXECUTE count_by_status('ACTIVE');
+
+-- findByNameContainingAndStatus(keyword, status)
+-- 기대: Append, Subplans Removed: 2 (name LIKE 는 파티션 내부 필터)
+PREPARE find_by_name_and_status(varchar, varchar) AS
+    SELECT id, name, status FROM company WHERE name LIKE $1 ESCAPE '\' AND status = $2;
+EXPLAIN (ANALYZE, COSTS OFF, TIMING OFF) EXECUTE find_by_name_and_status('%테크%', 'ACTIVE');
+
+-- findByStatusNot(status)
+-- 기대: Append, Subplans Removed: 1 (LIST 파티션은 <> 조건으로도 프루닝)
+PREPARE find_by_status_not(varchar) AS SELECT id, name, status FROM company WHERE status <> $1;
+EXPLAIN (ANALYZE, COSTS OFF, TIMING OFF) EXECUTE find_by_status_not('INACTIVE');
+
+DEALLOCATE ALL;
+RESET plan_cache_mode;
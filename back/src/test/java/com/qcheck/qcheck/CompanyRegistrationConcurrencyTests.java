@@ -0,0 +1,137 @@
+package com.qcheck.qcheck;
+
+import com.qcheck.qcheck.dto.CompanyRegistrationResult;
+import com.qcheck.qcheck.dto.CompanyRegistrationResult.Outcome;
+import com.qcheck.qcheck.service.CompanyRegistrationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 동시 회사 등록 테스트 (CompanyRegistrationService)
+ *
+ * 여러 스레드가 같은 이름 몇 개를 동시에 등록해도 이름마다 CREATED 는 1건이고
+ * 나머지는 같은 회사 ID 를 받으며 company 테이블에도 1행만 생기는지 확인
+ *
+ * ddl-auto=update 로 만든 DB 에도 선점 테이블이 있도록 V6 스크립트(재실행 가능)를 먼저 적용
+ */
+@SpringBootTest
+@Sql(scripts = "classpath:db/migration/V6__company_name_key.sql")
+class CompanyRegistrationConcurrencyTests {
+
+    private static final int THREADS = 32;
+
+    private static final int NAMES = 8;
+
+    private static final int ROUNDS_PER_THREAD = 4;
+
+    private final String prefix = "ConcurrencyTest " + UUID.randomUUID().toString().substring(0, 8) + " ";
+
+    @Autowired
+    private CompanyRegistrationService registrationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM company_name_key WHERE company_id IN (SELECT id FROM company WHERE name ILIKE ?)",
+                prefix + "%");
+        jdbcTemplate.update("DELETE FROM company WHERE name ILIKE ?", prefix + "%");
+    }
+
+    @Test
+    void concurrentRegistrationsOfSameNameCreateOneCompany() throws Exception {
+        List<CompanyRegistrationResult> results = runConcurrently((thread, round) -> {
+            // 스레드마다 대소문자/공백이 다른 표기로 같은 이름 등록
+            int n = (thread + round) % NAMES;
+            String name = thread % 2 == 0 ? prefix + "Company " + n : "  " + prefix.toUpperCase() + "COMPANY   " + n;
+            return registrationService.register(name, null, null);
+        });
+
+        Map<String, List<CompanyRegistrationResult>> byName = results.stream()
+                .collect(Collectors.groupingBy(result -> result.company().getName().toLowerCase()));
+        assertThat(byName).hasSize(NAMES);
+        byName.forEach((name, sameName) -> {
+            assertThat(sameName).filteredOn(result -> result.outcome() == Outcome.CREATED).hasSize(1);
+            assertThat(sameName).extracting(result -> result.company().getId()).containsOnly(sameName.get(0).company().getId());
+        });
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM company WHERE name ILIKE ?", Long.class, prefix + "%"))
+                .isEqualTo(NAMES);
+    }
+
+    @Test
+    void concurrentRetriesWithSameIdempotencyKeyAreReplayed() throws Exception {
+        // 같은 요청(이름 + 멱등 키)을 스레드마다 재전송: 이름별 키는 하나 (처음 등록한 요청의 키)
+        List<CompanyRegistrationResult> results = runConcurrently((thread, round) -> {
+            int n = (thread + round) % NAMES;
+            return registrationService.register(prefix + "Retry " + n, null, prefix + "key-" + n);
+        });
+
+        Map<Long, List<CompanyRegistrationResult>> byId = results.stream()
+                .collect(Collectors.groupingBy(result -> result.company().getId()));
+        assertThat(byId).hasSize(NAMES);
+        byId.values().forEach(sameCompany -> {
+            assertThat(sameCompany).filteredOn(result -> result.outcome() == Outcome.CREATED).hasSize(1);
+            assertThat(sameCompany).extracting(CompanyRegistrationResult::outcome)
+                    .containsOnly(Outcome.CREATED, Outcome.REPLAYED);
+        });
+    }
+
+    private interface Registration {
+        CompanyRegistrationResult register(int thread, int round);
+    }
+
+    /**
+     * 모든 스레드가 준비된 뒤 동시에 시작하여 ROUNDS_PER_THREAD 번씩 등록
+     */
+    private List<CompanyRegistrationResult> runConcurrently(Registration registration) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<List<CompanyRegistrationResult>>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                Callable<List<CompanyRegistrationResult>> task = () -> {
+                    ready.countDown();
+                    start.await();
+                    List<CompanyRegistrationResult> results = new ArrayList<>();
+                    for (int round = 0; round < ROUNDS_PER_THREAD; round++) {
+                        results.add(registration.register(thread, round));
+                    }
+                    return results;
+                };
+                futures.add(executor.submit(task));
+            }
+            ready.await();
+            start.countDown();
+
+            List<CompanyRegistrationResult> results = new ArrayList<>();
+            for (Future<List<CompanyRegistrationResult>> future : futures) {
+                results.addAll(future.get(60, TimeUnit.SECONDS));
+            }
+            assertThat(results).hasSize(THREADS * ROUNDS_PER_THREAD);
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.qcheck.qcheck;
+
+import com.qcheck.qcheck.entity.Company;
+import com.qcheck.qcheck.entity.CompanyStatus;
+import com.qcheck.qcheck.repository.CompanyRepository;
+import com.qcheck.qcheck.sharding.ShardMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * company 샤딩 테스트 (ShardedCompanyRepositoryAspect)
+ *
+ * 로컬 PostgreSQL 여러 개가 필요하므로 QCHECK_SHARD_URLS 가 있을 때만 실행 (README "샤딩 로컬 테스트")
+ * - QCHECK_SHARD_URLS: 샤드 순 JDBC URL (쉼표 구분, 첫 번째가 샤드 0)
+ * - QCHECK_SHARD_USER / QCHECK_SHARD_PASSWORD: 모든 샤드 공통 계정 (기본 postgres / test)
+ * - 빈 샤드에는 실행 전에 db/migration 스키마를 적용
+ *
+ * 저장한 회사가 id % 샤드 수 == 회사명 해시 샤드 인 DB 에만 생기는지, 단건/전체/건수 조회가
+ * 모든 샤드 결과를 합친 값과 같은지 확인
+ */
+@EnabledIfEnvironmentVariable(named = "QCHECK_SHARD_URLS", matches = ".+")
+@SpringBootTest(properties = {
+        "app.sharding.enabled=true",
+        "app.sharding.initialize-sequences=true"
+})
+class ShardedCompanyRepositoryTests {
+
+    private static final int COMPANIES = 60;
+
+    private final String prefix = "ShardTest " + UUID.randomUUID().toString().substring(0, 8) + " ";
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private ShardMap shardMap;
+
+    @DynamicPropertySource
+    static void shardProperties(DynamicPropertyRegistry registry) {
+        List<String> urls = shardUrls();
+        registry.add("spring.datasource.url", () -> urls.get(0));
+        registry.add("spring.datasource.username", ShardedCompanyRepositoryTests::user);
+        registry.add("spring.datasource.password", ShardedCompanyRepositoryTests::password);
+        registry.add("app.sharding.shard-urls", () -> String.join(",", urls.subList(1, urls.size())));
+    }
+
+    /**
+     * 기동 시 샤드 스키마/ID 시퀀스를 확인하므로 컨텍스트 생성 전에 빈 샤드마다 실제 스키마(db/migration V1..)를 적용
+     * (Flyway/ddl-auto 는 샤드 0 에만 적용됨, company 테이블이 이미 있는 샤드는 적용된 것으로 보고 건너뜀)
+     */
+    @BeforeAll
+    static void applyMigrations() throws SQLException, IOException {
+        Resource[] migrations = new PathMatchingResourcePatternResolver().getResources("classpath:db/migration/V*__*.sql");
+        Arrays.sort(migrations, Comparator.comparingInt(ShardedCompanyRepositoryTests::migrationVersion));
+        for (String url : shardUrls()) {
+            try (Connection connection = DriverManager.getConnection(url, user(), password());
+                 Statement stmt = connection.createStatement()) {
+                try (ResultSet rs = stmt.executeQuery("SELECT to_regclass('company') IS NOT NULL")) {
+                    rs.next();
+                    if (rs.getBoolean(1)) {
+                        continue;
+                    }
+                }
+                for (Resource migration : migrations) {
+                    stmt.execute(migration.getContentAsString(StandardCharsets.UTF_8));
+                }
+            }
+        }
+    }
+
+    private static int migrationVersion(Resource migration) {
+        String name = Objects.requireNonNull(migration.getFilename());
+        return Integer.parseInt(name.substring(1, name.indexOf("__")));
+    }
+
+    @AfterEach
+    void cleanUp() throws SQLException {
+        for (String url : shardUrls()) {
+            try (Connection connection = DriverManager.getConnection(url, user(), password());
+                 PreparedStatement stmt = connection.prepareStatement("DELETE FROM company WHERE name LIKE ?")) {
+                stmt.setString(1, prefix + "%");
+                stmt.executeUpdate();
+            }
+        }
+    }
+
+    @Test
+    void savedCompaniesLandOnTheirShard() throws SQLException {
+        List<Company> saved = saveCompanies();
+
+        for (Company company : saved) {
+            int shard = shardMap.shardForId(company.getId());
+            assertThat(shard).isEqualTo(shardMap.shardForName(company.getName()));
+            assertThat(companyRepository.findById(company.getId())).get()
+                    .extracting(Company::getName).isEqualTo(company.getName());
+        }
+        List<String> urls = shardUrls();
+        int total = 0;
+        for (int i = 0; i < urls.size(); i++) {
+            int shard = i;
+            List<Long> ids = queryIds(urls.get(shard));
+            assertThat(ids).allSatisfy(id -> assertThat(shardMap.shardForId(id)).isEqualTo(shard));
+            total += ids.size();
+        }
+        assertThat(total).isEqualTo(COMPANIES);
+    }
+
+    @Test
+    void scatterQueriesMergeAllShards() {
+        List<Company> saved = saveCompanies();
+        long active = saved.stream().filter(company -> company.getStatus() == CompanyStatus.ACTIVE).count();
+
+        assertThat(companyRepository.countByNameContaining(prefix)).isEqualTo(COMPANIES);
+        assertThat(companyRepository.findByNameContaining(prefix)).hasSize(COMPANIES);
+        assertThat(companyRepository.findByNameContainingAndStatus(prefix, CompanyStatus.ACTIVE)).hasSize((int) active);
+        assertThat(companyRepository.existsByName(saved.get(COMPANIES - 1).getName())).isTrue();
+        assertThat(companyRepository.findByName(saved.get(0).getName())).isPresent();
+
+        List<String> names = companyRepository.findAllByOrderByNameAsc().stream()
+                .map(Company::getName)
+                .filter(name -> name.startsWith(prefix))
+                .toList();
+        assertThat(names).hasSize(COMPANIES).isSorted();
+
+        // 샤드마다 1건씩 받아도 병합 후 Limit 으로 다시 자름
+        assertThat(companyRepository.findAllByOrderByNameAsc(Limit.of(1))).hasSize(1);
+        assertThat(companyRepository.findByStatusOrderByNameAsc(CompanyStatus.ACTIVE, Limit.of(2))).hasSize(2);
+    }
+
+    /**
+     * 샤드마다 섞이도록 이름이 정렬 순서와 다르게 들어가게 저장 (상태는 3 가지 순환)
+     */
+    private List<Company> saveCompanies() {
+        List<Company> companies = new ArrayList<>();
+        CompanyStatus[] statuses = CompanyStatus.values();
+        for (int i = 0; i < COMPANIES; i++) {
+            Company company = new Company();
+            company.setName(prefix + "Company " + String.format("%03d", (i * 37) % COMPANIES));
+            company.setStatus(statuses[i % statuses.length]);
+            companies.add(company);
+        }
+        return companyRepository.saveAll(companies);
+    }
+
+    private List<Long> queryIds(String url) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (Connection connection = DriverManager.getConnection(url, user(), password());
+             PreparedStatement stmt = connection.prepareStatement("SELECT id FROM company WHERE name LIKE ?")) {
+            stmt.setString(1, prefix + "%");
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getLong(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static List<String> shardUrls() {
+        return Arrays.stream(System.getenv("QCHECK_SHARD_URLS").split(","))
+                .map(String::strip)
+                .filter(url -> !url.isEmpty())
+                .toList();
+    }
+
+    private static String user() {
+        return Objects.requireNonNullElse(System.getenv("QCHECK_SHARD_USER"), "postgres");
+    }
+
+    private static String password() {
+        return Objects.requireNonNullElse(System.getenv("QCHECK_SHARD_PASSWORD"), "test");
+    }
+}
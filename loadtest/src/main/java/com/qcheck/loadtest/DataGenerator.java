@@ -0,0 +1,220 @@
+package com.qcheck.loadtest;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * 합성 데이터 생성기
+ *
+ * 목적: database_setup.sql 의 샘플 3건으로는 확장성 테스트가 불가능하므로
+ *       1천 ~ 1천만 건 규모의 company / emp / company_emp_hist 데이터를 빠르게 적재
+ *
+ * 적재 방식:
+ * - PostgreSQL COPY ... FROM STDIN 사용 (INSERT 대비 수십 배 빠름)
+ * - 행을 메모리에 모두 만들지 않고 Reader 로 필요한 만큼만 생성하여 스트리밍
+ * - seed 가 같으면 같은 데이터 생성 (truncate=true 와 함께 쓰면 재현 가능)
+ *
+ * 실행 인자 (key=value):
+ * - url / user / password : 접속 정보 (기본 jdbc:postgresql://localhost:5432/qcheck, postgres)
+ * - companies=1000       : 생성할 회사 수
+ * - emps=companies*5     : 생성할 사원 수
+ * - histPerEmp=3         : 사원당 최대 소속 이력 수
+ * - active=0.7 inactive=0.2 (나머지는 SUSPENDED) : 상태 분포
+ * - seed=42              : 난수 시드
+ * - truncate=false       : true 면 세 테이블을 비우고 시퀀스 초기화 후 적재
+ */
+public class DataGenerator {
+
+    private static final LocalDate HISTORY_START = LocalDate.of(2015, 1, 1);
+
+    public static void main(String[] args) throws Exception {
+        LoadTestArgs opts = new LoadTestArgs(args);
+        long companies = opts.getLong("companies", 1_000);
+        long emps = opts.getLong("emps", companies * 5);
+        int histPerEmp = opts.getInt("histPerEmp", 3);
+        double activeRatio = opts.getDouble("active", 0.7);
+        double inactiveRatio = opts.getDouble("inactive", 0.2);
+        long seed = opts.getLong("seed", 42);
+
+        try (Connection connection = DriverManager.getConnection(
+                opts.get("url", "jdbc:postgresql://localhost:5432/qcheck"),
+                opts.get("user", "postgres"),
+                opts.get("password", "test"))) {
+            CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+
+            // 회사명 선점 테이블(V6)이 있으면 생성한 회사 이름도 선점 (COPY 는 등록 API 를 거치지 않음)
+            boolean nameKeys = queryLong(connection, "SELECT (to_regclass('company_name_key') IS NOT NULL)::int") == 1;
+            // 일별 인원 집계(V7)가 있으면 비울 때 함께 비움 (집계 상태가 없으면 다음 갱신 때 전체 재계산)
+            boolean headcountRollup = queryLong(connection,
+                    "SELECT (to_regclass('company_headcount_daily') IS NOT NULL)::int") == 1;
+
+            if (Boolean.parseBoolean(opts.get("truncate", "false"))) {
+                try (Statement stmt = connection.createStatement()) {
+                    stmt.execute("TRUNCATE company_emp_hist, emp, company RESTART IDENTITY CASCADE");
+                    if (nameKeys) {
+                        stmt.execute("TRUNCATE company_name_key");
+                    }
+                    if (headcountRollup) {
+                        stmt.execute("TRUNCATE company_headcount_daily, company_headcount_rollup_state");
+                    }
+                }
+                System.out.println("기존 데이터 삭제 완료");
+            }
+
+            // 1. company
+            long companyBase = queryLong(connection, "SELECT COALESCE(MAX(id), 0) FROM company");
+            Random companyRandom = new Random(seed);
+            long start = System.nanoTime();
+            long rows = copy.copyIn("COPY company (name, status, created_ep) FROM STDIN",
+                    new RowReader(companies) {
+                        @Override
+                        void writeRow(long n, StringBuilder row) {
+                            double p = companyRandom.nextDouble();
+                            String status = p < activeRatio ? "ACTIVE"
+                                    : p < activeRatio + inactiveRatio ? "INACTIVE" : "SUSPENDED";
+                            row.append(Vocabulary.companyName(seed, companyBase + n + 1))
+                                    .append('\t').append(status)
+                                    .append('\t').append("LOADTEST").append('\n');
+                        }
+                    });
+            report("company", rows, start);
+            if (nameKeys) {
+                try (Statement stmt = connection.createStatement()) {
+                    stmt.execute("INSERT INTO company_name_key (name_key, company_id) "
+                            + "SELECT company_name_key(name), id FROM company WHERE id > " + companyBase
+                            + " ORDER BY id ON CONFLICT DO NOTHING");
+                }
+            }
+
+            // 2. emp
+            long empBase = queryLong(connection, "SELECT COALESCE(MAX(emp_seq), 0) FROM emp");
+            Random empRandom = new Random(seed + 1);
+            start = System.nanoTime();
+            rows = copy.copyIn("COPY emp (emp_id, emp_pw, emp_nm, use_yn, created_ep) FROM STDIN",
+                    new RowReader(emps) {
+                        @Override
+                        void writeRow(long n, StringBuilder row) {
+                            row.append("lt_user_").append(empBase + n + 1)
+                                    .append('\t').append("{noop}loadtest")
+                                    .append('\t').append(Vocabulary.empName(empRandom))
+                                    .append('\t').append(empRandom.nextInt(20) == 0 ? "N" : "Y")
+                                    .append('\t').append("LOADTEST").append('\n');
+                        }
+                    });
+            report("emp", rows, start);
+
+            // 3. company_emp_hist (사원별로 겹치지 않는 연속 소속 기간 생성, 마지막 소속은 대부분 현재 진행 중)
+            long[] companyRange = queryRange(connection, "SELECT MIN(id), MAX(id) FROM company");
+            long[] empRange = queryRange(connection, "SELECT MIN(emp_seq), MAX(emp_seq) FROM emp WHERE emp_seq > " + empBase);
+            if (companyRange == null || empRange == null || histPerEmp <= 0) {
+                System.out.println("company_emp_hist 생략 (회사/사원 없음)");
+                return;
+            }
+            Random histRandom = new Random(seed + 2);
+            start = System.nanoTime();
+            rows = copy.copyIn("COPY company_emp_hist (company_seq, emp_seq, start_date, end_date, created_ep) FROM STDIN",
+                    new RowReader(empRange[1] - empRange[0] + 1) {
+                        @Override
+                        void writeRow(long n, StringBuilder row) {
+                            long empSeq = empRange[0] + n;
+                            int periods = 1 + histRandom.nextInt(histPerEmp);
+                            LocalDate from = HISTORY_START.plusDays(histRandom.nextInt(1_500));
+                            for (int i = 0; i < periods; i++) {
+                                long companySeq = companyRange[0]
+                                        + (long) (histRandom.nextDouble() * (companyRange[1] - companyRange[0] + 1));
+                                boolean last = i == periods - 1;
+                                LocalDate to = last && histRandom.nextInt(10) < 7
+                                        ? null : from.plusDays(90 + histRandom.nextInt(1_400));
+                                row.append(companySeq)
+                                        .append('\t').append(empSeq)
+                                        .append('\t').append(from)
+                                        .append('\t').append(to == null ? "\\N" : to.toString())
+                                        .append('\t').append("LOADTEST").append('\n');
+                                if (to == null) {
+                                    break;
+                                }
+                                from = to.plusDays(1 + histRandom.nextInt(60));
+                            }
+                        }
+                    });
+            report("company_emp_hist", rows, start);
+
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("ANALYZE company");
+                stmt.execute("ANALYZE emp");
+                stmt.execute("ANALYZE company_emp_hist");
+            }
+        }
+    }
+
+    private static void report(String table, long rows, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        System.out.printf("%-18s %,12d 건  %8.2f 초  %,12.0f 건/초%n", table, rows, seconds, rows / Math.max(seconds, 1e-9));
+    }
+
+    private static long queryLong(Connection connection, String sql) throws SQLException {
+        try (Statement stmt = connection.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static long[] queryRange(Connection connection, String sql) throws SQLException {
+        try (Statement stmt = connection.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            long min = rs.getLong(1);
+            return rs.wasNull() ? null : new long[]{min, rs.getLong(2)};
+        }
+    }
+
+    /**
+     * COPY 입력을 행 단위로 지연 생성하는 Reader
+     *
+     * 전체 데이터를 메모리에 올리지 않으므로 1천만 건도 일정한 메모리로 적재 가능
+     */
+    abstract static class RowReader extends Reader {
+
+        private final long total;
+        private final StringBuilder buffer = new StringBuilder(8_192);
+        private long next;
+        private int pos;
+
+        RowReader(long total) {
+            this.total = total;
+        }
+
+        abstract void writeRow(long n, StringBuilder row);
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            if (pos == buffer.length()) {
+                buffer.setLength(0);
+                pos = 0;
+                while (next < total && buffer.length() < 8_192) {
+                    writeRow(next++, buffer);
+                }
+                if (buffer.length() == 0) {
+                    return -1;
+                }
+            }
+            int count = Math.min(len, buffer.length() - pos);
+            buffer.getChars(pos, pos + count, cbuf, off);
+            pos += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
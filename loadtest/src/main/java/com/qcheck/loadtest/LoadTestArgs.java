@@ -0,0 +1,45 @@
+package com.qcheck.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 부하 테스트 도구 공통 실행 인자 파서
+ *
+ * 형식: key=value 목록 (예: companies=100000 seed=42)
+ * 우선순위: 실행 인자 → 시스템 프로퍼티(-Dkey=value) → 기본값
+ */
+public class LoadTestArgs {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    public LoadTestArgs(String[] args) {
+        for (String arg : args) {
+            int idx = arg.indexOf('=');
+            if (idx <= 0) {
+                throw new IllegalArgumentException("key=value 형식이 아닌 인자: " + arg);
+            }
+            values.put(arg.substring(0, idx), arg.substring(idx + 1));
+        }
+    }
+
+    public String get(String key, String defaultValue) {
+        String value = values.get(key);
+        if (value == null) {
+            value = System.getProperty(key);
+        }
+        return value != null ? value : defaultValue;
+    }
+
+    public long getLong(String key, long defaultValue) {
+        return Long.parseLong(get(key, Long.toString(defaultValue)));
+    }
+
+    public int getInt(String key, int defaultValue) {
+        return Integer.parseInt(get(key, Integer.toString(defaultValue)));
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        return Double.parseDouble(get(key, Double.toString(defaultValue)));
+    }
+}
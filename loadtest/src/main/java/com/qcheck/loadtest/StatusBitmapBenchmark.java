@@ -0,0 +1,203 @@
+package com.qcheck.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 상태 비트맵 인덱스 vs SQL 경로 벤치마크
+ *
+ * 목적: 백엔드 CompanyStatusBitmapIndex 와 같은 방식(상태별 RoaringBitmap)이
+ *       SQL 대비 얼마나 빠른지 1백만 / 1천만 건 규모에서 비교
+ *
+ * 준비: DataGenerator 로 데이터 적재 후 실행
+ *   DataGenerator companies=1000000 truncate=true → StatusBitmapBenchmark
+ *   DataGenerator companies=10000000 truncate=true → StatusBitmapBenchmark
+ *
+ * 측정 항목 (각 warmup 회 예열 후 iterations 회 기록, 평균/p50/p99 µs):
+ * 1. count      : SELECT COUNT(*) ... WHERE status = ?        vs 비트맵 cardinality
+ * 2. intersect  : SELECT id ... WHERE id = ANY(?) AND status = ? vs 요청 ID 비트맵 ∩ 상태 비트맵
+ * 3. keyword    : SELECT id ... WHERE name LIKE ? AND status = ?
+ *                 vs SELECT id ... WHERE name LIKE ? 결과 ∩ 상태 비트맵
+ *
+ * 측정 결과(개수, 교집합 크기, 조회 ID)는 모두 checksum 에 더해 마지막에 출력
+ * (결과를 버리면 JIT 가 비트맵 연산을 제거하거나 루프 밖으로 옮겨 nanoTime() 비용만 측정할 수 있음)
+ *
+ * 실행 인자 (key=value):
+ * - url / user / password : 접속 정보
+ * - iterations=200  : 항목별 기록 횟수
+ * - warmup=100      : 항목별 예열 횟수 (기록하지 않음)
+ * - setSize=10000   : intersect 에 사용할 요청 ID 수
+ * - seed=42
+ */
+public class StatusBitmapBenchmark {
+
+    private enum Status { ACTIVE, INACTIVE, SUSPENDED }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestArgs opts = new LoadTestArgs(args);
+        int iterations = opts.getInt("iterations", 200);
+        int warmup = opts.getInt("warmup", 100);
+        int setSize = opts.getInt("setSize", 10_000);
+        Random random = new Random(opts.getLong("seed", 42));
+
+        try (Connection connection = DriverManager.getConnection(
+                opts.get("url", "jdbc:postgresql://localhost:5432/qcheck"),
+                opts.get("user", "postgres"),
+                opts.get("password", "test"))) {
+
+            // 비트맵 적재 (백엔드 기동 시 적재와 같은 스트리밍 방식)
+            Map<Status, RoaringBitmap> bitmaps = new EnumMap<>(Status.class);
+            for (Status status : Status.values()) {
+                bitmaps.put(status, new RoaringBitmap());
+            }
+            long loadStart = System.nanoTime();
+            int maxId = 0;
+            connection.setAutoCommit(false);
+            try (PreparedStatement stmt = connection.prepareStatement("SELECT id, status FROM company")) {
+                stmt.setFetchSize(10_000);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        int id = (int) rs.getLong(1);
+                        bitmaps.get(Status.valueOf(rs.getString(2))).add(id);
+                        maxId = Math.max(maxId, id);
+                    }
+                }
+            }
+            connection.commit();
+            connection.setAutoCommit(true);
+            bitmaps.values().forEach(RoaringBitmap::runOptimize);
+            long total = bitmaps.values().stream().mapToLong(RoaringBitmap::getLongCardinality).sum();
+            long bytes = bitmaps.values().stream().mapToLong(RoaringBitmap::getLongSizeInBytes).sum();
+            System.out.printf("비트맵 적재: %,d 건, %.1f 초, %,d bytes%n%n", total, (System.nanoTime() - loadStart) / 1e9, bytes);
+
+            System.out.printf("%-10s %-8s %12s %12s %12s%n", "항목", "경로", "avg(µs)", "p50(µs)", "p99(µs)");
+            long checksum = 0;
+
+            // 1. count
+            Histogram sqlCount = new Histogram(3);
+            Histogram bitmapCount = new Histogram(3);
+            try (PreparedStatement stmt = connection.prepareStatement("SELECT COUNT(*) FROM company WHERE status = ?")) {
+                for (int i = 0; i < warmup + iterations; i++) {
+                    boolean recording = i >= warmup;
+                    Status status = Status.values()[random.nextInt(3)];
+                    long start = System.nanoTime();
+                    stmt.setString(1, status.name());
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        rs.next();
+                        checksum += rs.getLong(1);
+                    }
+                    record(sqlCount, start, recording);
+
+                    start = System.nanoTime();
+                    checksum += bitmaps.get(status).getLongCardinality();
+                    record(bitmapCount, start, recording);
+                }
+            }
+            print("count", "sql", sqlCount);
+            print("count", "bitmap", bitmapCount);
+
+            // 2. intersect (요청 ID 집합 ∩ 상태)
+            Histogram sqlIntersect = new Histogram(3);
+            Histogram bitmapIntersect = new Histogram(3);
+            try (PreparedStatement stmt = connection.prepareStatement(
+                    "SELECT id FROM company WHERE id = ANY(?) AND status = ?")) {
+                for (int i = 0; i < warmup + iterations; i++) {
+                    boolean recording = i >= warmup;
+                    Status status = Status.values()[random.nextInt(3)];
+                    Long[] ids = new Long[setSize];
+                    for (int j = 0; j < setSize; j++) {
+                        ids[j] = 1L + random.nextInt(Math.max(1, maxId));
+                    }
+
+                    long start = System.nanoTime();
+                    Array array = connection.createArrayOf("bigint", ids);
+                    stmt.setArray(1, array);
+                    stmt.setString(2, status.name());
+                    checksum += drain(stmt);
+                    record(sqlIntersect, start, recording);
+
+                    start = System.nanoTime();
+                    RoaringBitmap requested = new RoaringBitmap();
+                    for (Long id : ids) {
+                        requested.add(id.intValue());
+                    }
+                    checksum += RoaringBitmap.and(bitmaps.get(status), requested).getLongCardinality();
+                    record(bitmapIntersect, start, recording);
+                }
+            }
+            print("intersect", "sql", sqlIntersect);
+            print("intersect", "bitmap", bitmapIntersect);
+
+            // 3. keyword + status (findByNameContainingAndStatus)
+            Histogram sqlKeyword = new Histogram(3);
+            Histogram bitmapKeyword = new Histogram(3);
+            try (PreparedStatement combined = connection.prepareStatement(
+                    "SELECT id FROM company WHERE name LIKE ? AND status = ?");
+                 PreparedStatement keywordOnly = connection.prepareStatement(
+                         "SELECT id FROM company WHERE name LIKE ?")) {
+                for (int i = 0; i < warmup + iterations; i++) {
+                    boolean recording = i >= warmup;
+                    Status status = Status.values()[random.nextInt(3)];
+                    String pattern = "%" + Vocabulary.searchKeyword(random) + "%";
+
+                    long start = System.nanoTime();
+                    combined.setString(1, pattern);
+                    combined.setString(2, status.name());
+                    checksum += drain(combined);
+                    record(sqlKeyword, start, recording);
+
+                    start = System.nanoTime();
+                    keywordOnly.setString(1, pattern);
+                    RoaringBitmap hits = new RoaringBitmap();
+                    try (ResultSet rs = keywordOnly.executeQuery()) {
+                        while (rs.next()) {
+                            hits.add((int) rs.getLong(1));
+                        }
+                    }
+                    checksum += RoaringBitmap.and(bitmaps.get(status), hits).getLongCardinality();
+                    record(bitmapKeyword, start, recording);
+                }
+            }
+            print("keyword", "sql", sqlKeyword);
+            print("keyword", "bitmap", bitmapKeyword);
+            System.out.printf("%nchecksum: %d%n", checksum);
+        }
+    }
+
+    /**
+     * @return 조회한 ID 합 (checksum 용)
+     */
+    private static long drain(PreparedStatement stmt) throws SQLException {
+        long sum = 0;
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                sum += rs.getLong(1);
+            }
+        }
+        return sum;
+    }
+
+    private static void record(Histogram histogram, long start, boolean recording) {
+        long elapsed = System.nanoTime() - start;
+        if (recording) {
+            histogram.recordValue(elapsed);
+        }
+    }
+
+    private static void print(String name, String path, Histogram histogram) {
+        System.out.printf("%-10s %-8s %12.1f %12.1f %12.1f%n", name, path,
+                histogram.getMean() / 1e3,
+                histogram.getValueAtPercentile(50) / 1e3,
+                histogram.getValueAtPercentile(99) / 1e3);
+    }
+}
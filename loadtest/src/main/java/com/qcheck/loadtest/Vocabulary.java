@@ -0,0 +1,74 @@
+package com.qcheck.loadtest;
+
+import java.util.Random;
+
+/**
+ * 한국어/영어 회사명 및 사원명 합성용 어휘
+ *
+ * DataGenerator 는 이 어휘로 데이터를 만들고, WorkloadDriver 는 같은 어휘로 검색어를 뽑고 같은 seed 로 회사명을 만들어
+ * 검색/이름 조회 API 가 실제로 결과를 반환하는 현실적인 부하를 만듦
+ */
+public final class Vocabulary {
+
+    static final String[] KO_PREFIX = {
+            "테크", "글로벌", "이노베이션", "한빛", "대한", "미래", "동방", "새한", "우리", "하나",
+            "태평양", "한결", "누리", "스마트", "디지털", "제일", "신세계", "청솔", "한마음", "에이스"
+    };
+
+    static final String[] KO_SUFFIX = {
+            "코퍼레이션", "시스템즈", "랩", "솔루션", "산업", "물산", "전자", "정보통신", "테크놀로지", "컨설팅"
+    };
+
+    static final String[] EN_PREFIX = {
+            "Tech", "Global", "Blue", "Nova", "Prime", "Apex", "Quantum", "Bright", "Silver", "Vertex",
+            "Summit", "Pioneer", "Orbit", "Nexus", "Alpha", "Core", "Fusion", "Horizon", "Atlas", "Zenith"
+    };
+
+    static final String[] EN_SUFFIX = {
+            "Corp", "Systems", "Labs", "Solutions", "Industries", "Holdings", "Networks", "Software", "Partners", "Group"
+    };
+
+    static final String[] KO_SURNAME = {"김", "이", "박", "최", "정", "강", "조", "윤", "장", "임", "한", "오", "서", "신", "권"};
+
+    static final String[] KO_GIVEN = {
+            "민준", "서연", "도윤", "하은", "시우", "지우", "예준", "서윤", "주원", "지민",
+            "현우", "수아", "지호", "하윤", "준서", "유진", "건우", "채원", "우진", "다은"
+    };
+
+    private Vocabulary() {
+    }
+
+    /**
+     * 회사명 생성 (한국어 70% / 영어 30%)
+     *
+     * 일련번호를 붙여 전체 데이터에서 이름이 유일하도록 함
+     * 이름은 (seed, 일련번호) 만으로 정해지므로 WorkloadDriver 가 같은 seed 로 적재된 회사명을 그대로 다시 만들 수 있음
+     */
+    static String companyName(long seed, long seq) {
+        Random random = new Random(seed ^ (seq * 0x9E3779B97F4A7C15L));
+        if (random.nextInt(10) < 7) {
+            return pick(random, KO_PREFIX) + " " + pick(random, KO_SUFFIX) + " " + seq;
+        }
+        return pick(random, EN_PREFIX) + " " + pick(random, EN_SUFFIX) + " " + seq;
+    }
+
+    static String empName(Random random) {
+        return pick(random, KO_SURNAME) + pick(random, KO_GIVEN);
+    }
+
+    /**
+     * 검색 키워드 생성 (회사명 접두/접미 어휘 중 하나)
+     */
+    static String searchKeyword(Random random) {
+        return switch (random.nextInt(4)) {
+            case 0 -> pick(random, KO_PREFIX);
+            case 1 -> pick(random, KO_SUFFIX);
+            case 2 -> pick(random, EN_PREFIX);
+            default -> pick(random, EN_SUFFIX);
+        };
+    }
+
+    static String pick(Random random, String[] words) {
+        return words[random.nextInt(words.length)];
+    }
+}
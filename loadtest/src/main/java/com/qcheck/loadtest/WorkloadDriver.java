@@ -0,0 +1,262 @@
+package com.qcheck.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * /api/companies/* 워크로드 드라이버 (오픈 루프)
+ *
+ * 동작 방식:
+ * - 가중치가 있는 엔드포인트 조합에서 요청을 골라, 고정 도착률(rate)로 응답 여부와 무관하게 발사
+ * - 지연 시간은 "예정 발사 시각 → 응답 완료" 로 측정 (coordinated omission 보정)
+ * - 워밍업 구간 요청은 통계에서 제외
+ * - HdrHistogram 으로 엔드포인트별/전체 백분위(p50, p90, p99, p99.9, max)와 처리량 출력
+ * - baseline 파일의 임계값을 하나라도 넘으면 종료 코드 1
+ *
+ * 실행 인자 (key=value):
+ * - baseUrl=http://localhost:8081 : 대상 서버
+ * - rate=200         : 초당 요청 수
+ * - duration=60      : 측정 시간(초)
+ * - warmup=10        : 워밍업 시간(초)
+ * - maxId=1000       : /{id} 요청에 사용할 최대 회사 ID
+ * - mix=byId:30,search:15,... : 엔드포인트 가중치 (미지정 시 기본 조합)
+ * - baseline=baseline.properties : 임계값 파일 (미지정 시 검사 생략)
+ * - seed=42          : 난수 시드 (요청 선택)
+ * - dataSeed=42      : DataGenerator 적재 시 사용한 seed (name/exists 요청이 실제 회사명을 조회하도록 같은 값 사용)
+ */
+public class WorkloadDriver {
+
+    private static final String[] STATUSES = {"ACTIVE", "INACTIVE", "SUSPENDED"};
+
+    private static final String DEFAULT_MIX =
+            "byId:30,search:15,count:10,countByStatus:10,exists:8,status:10,active:5,searchIgnoreCase:5,name:5,all:1,sorted:1";
+
+    /**
+     * 엔드포인트별 요청 경로 생성기 (이름 → 경로)
+     */
+    private static Map<String, Function<Random, String>> endpoints(long maxId, long dataSeed) {
+        Map<String, Function<Random, String>> map = new LinkedHashMap<>();
+        map.put("all", r -> "/api/companies/all");
+        map.put("byId", r -> "/api/companies/" + (1 + (long) (r.nextDouble() * maxId)));
+        map.put("status", r -> "/api/companies/status/" + STATUSES[r.nextInt(STATUSES.length)]);
+        map.put("search", r -> "/api/companies/search?keyword=" + encode(Vocabulary.searchKeyword(r)));
+        map.put("name", r -> "/api/companies/name?exact=" + encode(Vocabulary.companyName(dataSeed, 1 + (long) (r.nextDouble() * maxId))));
+        map.put("count", r -> "/api/companies/count");
+        map.put("countByStatus", r -> "/api/companies/count/status/" + STATUSES[r.nextInt(STATUSES.length)]);
+        map.put("sorted", r -> "/api/companies/sorted");
+        map.put("active", r -> "/api/companies/active");
+        map.put("searchIgnoreCase", r -> "/api/companies/search-ignore-case?name=" + encode(Vocabulary.searchKeyword(r)));
+        map.put("exists", r -> "/api/companies/exists?name=" + encode(Vocabulary.companyName(dataSeed, 1 + (long) (r.nextDouble() * maxId))));
+        return map;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestArgs opts = new LoadTestArgs(args);
+        String baseUrl = opts.get("baseUrl", "http://localhost:8081");
+        double rate = opts.getDouble("rate", 200);
+        long durationSec = opts.getLong("duration", 60);
+        long warmupSec = opts.getLong("warmup", 10);
+        Random random = new Random(opts.getLong("seed", 42));
+
+        // 가중치 조합 구성
+        Map<String, Function<Random, String>> available = endpoints(opts.getLong("maxId", 1_000), opts.getLong("dataSeed", 42));
+        List<String> names = new ArrayList<>();
+        List<Integer> cumulative = new ArrayList<>();
+        int totalWeight = 0;
+        for (String entry : opts.get("mix", DEFAULT_MIX).split(",")) {
+            String[] kv = entry.trim().split(":");
+            if (!available.containsKey(kv[0])) {
+                throw new IllegalArgumentException("알 수 없는 엔드포인트: " + kv[0] + " (가능: " + available.keySet() + ")");
+            }
+            totalWeight += Integer.parseInt(kv[1]);
+            names.add(kv[0]);
+            cumulative.add(totalWeight);
+        }
+
+        Map<String, Stats> stats = new LinkedHashMap<>();
+        names.forEach(name -> stats.put(name, new Stats()));
+        Stats overall = new Stats();
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        long intervalNanos = (long) (1e9 / rate);
+        long start = System.nanoTime();
+        long measureStart = start + TimeUnit.SECONDS.toNanos(warmupSec);
+        long end = measureStart + TimeUnit.SECONDS.toNanos(durationSec);
+        List<CompletableFuture<?>> inFlight = new ArrayList<>();
+
+        System.out.printf("워크로드 시작: %s, %.0f req/s, 워밍업 %d초, 측정 %d초%n", baseUrl, rate, warmupSec, durationSec);
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            int pick = random.nextInt(totalWeight);
+            int idx = 0;
+            while (cumulative.get(idx) <= pick) {
+                idx++;
+            }
+            String name = names.get(idx);
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + available.get(name).apply(random)))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+            boolean measured = intended >= measureStart;
+            Stats endpointStats = stats.get(name);
+            inFlight.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        if (measured) {
+                            long latency = System.nanoTime() - intended;
+                            boolean failed = error != null || response.statusCode() >= 500;
+                            endpointStats.record(latency, failed);
+                            overall.record(latency, failed);
+                        }
+                        return null;
+                    }));
+            if (inFlight.size() >= 10_000) {
+                inFlight.removeIf(CompletableFuture::isDone);
+            }
+        }
+        CompletableFuture.allOf(inFlight.toArray(new CompletableFuture[0])).join();
+
+        // 결과 출력
+        System.out.printf("%n%-18s %9s %7s %9s %9s %9s %9s %9s %10s%n",
+                "endpoint", "count", "errors", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)", "req/s");
+        stats.forEach((name, s) -> s.print(name, durationSec));
+        overall.print("overall", durationSec);
+
+        // 기준선 비교
+        String baselineFile = opts.get("baseline", null);
+        if (baselineFile != null) {
+            List<String> violations = checkBaseline(Path.of(baselineFile), stats, overall, durationSec);
+            if (!violations.isEmpty()) {
+                System.out.println("\n❌ 기준선 초과:");
+                violations.forEach(v -> System.out.println("   - " + v));
+                System.exit(1);
+            }
+            System.out.println("\n✅ 기준선 이내");
+        }
+    }
+
+    /**
+     * 기준선 파일의 임계값과 측정 결과 비교
+     *
+     * @return 초과한 항목 설명 목록 (비어 있으면 통과)
+     */
+    private static List<String> checkBaseline(Path file, Map<String, Stats> stats, Stats overall, long durationSec)
+            throws IOException {
+        Properties baseline = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            baseline.load(in);
+        }
+        List<String> violations = new ArrayList<>();
+        for (String key : baseline.stringPropertyNames()) {
+            double limit = Double.parseDouble(baseline.getProperty(key).trim());
+            String target = key.substring(0, key.indexOf('.'));
+            String metric = key.substring(key.indexOf('.') + 1);
+            Stats s = "overall".equals(target) ? overall : stats.get(target);
+            if (s == null) {
+                continue;
+            }
+            double actual;
+            boolean exceeded;
+            switch (metric) {
+                case "throughput.min" -> {
+                    actual = s.throughput(durationSec);
+                    exceeded = actual < limit;
+                }
+                case "error.rate.max" -> {
+                    actual = s.errorRate();
+                    exceeded = actual > limit;
+                }
+                default -> {
+                    actual = s.latencyMillis(metric.replace(".ms", ""));
+                    exceeded = actual > limit;
+                }
+            }
+            if (exceeded) {
+                violations.add(String.format("%s: 측정 %.2f / 기준 %.2f", key, actual, limit));
+            }
+        }
+        return violations;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 엔드포인트별 지연 히스토그램과 오류 수
+     */
+    private static class Stats {
+
+        private final Histogram histogram = new ConcurrentHistogram(3);
+        private final LongAdder errors = new LongAdder();
+
+        void record(long latencyNanos, boolean failed) {
+            histogram.recordValue(latencyNanos);
+            if (failed) {
+                errors.increment();
+            }
+        }
+
+        double latencyMillis(String metric) {
+            long nanos = switch (metric) {
+                case "p50" -> histogram.getValueAtPercentile(50);
+                case "p90" -> histogram.getValueAtPercentile(90);
+                case "p99" -> histogram.getValueAtPercentile(99);
+                case "p999" -> histogram.getValueAtPercentile(99.9);
+                case "max" -> histogram.getMaxValue();
+                default -> throw new IllegalArgumentException("알 수 없는 지표: " + metric);
+            };
+            return nanos / 1e6;
+        }
+
+        double throughput(long durationSec) {
+            return histogram.getTotalCount() / (double) durationSec;
+        }
+
+        double errorRate() {
+            long count = histogram.getTotalCount();
+            return count == 0 ? 0 : errors.sum() / (double) count;
+        }
+
+        void print(String name, long durationSec) {
+            System.out.printf("%-18s %9d %7d %9.2f %9.2f %9.2f %9.2f %9.2f %10.1f%n",
+                    name, histogram.getTotalCount(), errors.sum(),
+                    latencyMillis("p50"), latencyMillis("p90"), latencyMillis("p99"),
+                    latencyMillis("p999"), latencyMillis("max"), throughput(durationSec));
+        }
+    }
+}